@@ -0,0 +1,61 @@
+package org.example.bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.*;
+
+/**
+ * Generates upload files of a given size in the formats the parsers accept.
+ * Seat codes follow the sample data: section letter + theater + row + seat digits.
+ */
+final class BenchmarkFiles {
+    private BenchmarkFiles() {
+    }
+
+    static Path bookingsCsv(int rows) throws IOException {
+        Path file = Files.createTempFile("bench-bookings-", ".csv");
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("# seatCode,customerName,customerEmail,customerPhone,price\n");   // BookingCsvFile has no header row
+            for (int i = 0; i < rows; i++) {
+                out.write(seatCode(i) + ",Customer " + i + ",customer" + i + "@example.com,555" + (i % 10_000)
+                        + (i % 10 == 0 ? ",42.50" : ",") + "\n");
+            }
+        }
+        return file;
+    }
+
+    static Path bookingsJson(int rows) throws IOException {
+        Path file = Files.createTempFile("bench-bookings-", ".json");
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("[\n");
+            for (int i = 0; i < rows; i++) {
+                out.write("  { \"seatCode\": \"" + seatCode(i) + "\", \"customerName\": \"Customer " + i
+                        + "\", \"customerEmail\": \"customer" + i + "@example.com\", \"customerPhone\": \"555"
+                        + (i % 10_000) + "\"" + (i % 10 == 0 ? ", \"price\": 42.5" : "") + " }"
+                        + (i + 1 < rows ? ",\n" : "\n"));
+            }
+            out.write("]\n");
+        }
+        return file;
+    }
+
+    static Path layoutCsv(int rows) throws IOException {
+        Path file = Files.createTempFile("bench-layout-", ".csv");
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("theaterName,theaterDescription,sectionName,rowNumber,seatsPerRow,seatTypeName\n");
+            for (int i = 0; i < rows; i++) {
+                out.write("Bench Theater,Generated,S" + (i / 100) + "," + (i % 100 + 1) + "," + (10 + i % 20)
+                        + (i % 3 == 0 ? ",VIP" : ",Standard") + "\n");
+            }
+        }
+        return file;
+    }
+
+    static String seatCode(int i) {
+        return (char) ('A' + i % 26) + String.format("%07d", i / 26);
+    }
+
+    static void delete(Path file) throws IOException {
+        if (file != null) Files.deleteIfExists(file);
+    }
+}
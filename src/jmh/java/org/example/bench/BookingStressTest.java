@@ -0,0 +1,202 @@
+package org.example.bench;
+
+import org.example.config.DatabaseConfig;
+import org.example.dao.PostgreSQLTheaterDAO;
+import org.example.dao.TheaterDAO;
+import org.example.metrics.LatencyHistogram;
+import org.example.model.Booking;
+import org.example.model.Seat;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Many concurrent clients calling PostgreSQLTheaterDAO.bookSeat on one synthetic theater
+ * in the database of DatabaseConfig.
+ *
+ * Each booker picks a seat, tries to book it, and repeats until every seat is taken or the
+ * duration is up. With probability hotProbability the pick comes from the first hotFraction
+ * of the seats, so a small block of seats sees most of the contention. Afterwards the report
+ * lists throughput, latency percentiles of booked and refused attempts, the conflict rate and
+ * a correctness check that no seat ended up with more than one booking.
+ *
+ *   mvn -Pbenchmarks test-compile exec:exec@stress \
+ *       -Dstress.args="--bookers=500 --hotFraction=0.02 --hotProbability=0.9 --durationSeconds=30"
+ *
+ * The theater is left in place for inspection; its name starts with "Stress ".
+ */
+public class BookingStressTest {
+
+    private record Options(int bookers, int sections, int rows, int seatsPerRow,
+                           double hotFraction, double hotProbability, int durationSeconds) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+            Options options = new Options(
+                    Integer.parseInt(values.getOrDefault("bookers", "200")),
+                    Integer.parseInt(values.getOrDefault("sections", "4")),
+                    Integer.parseInt(values.getOrDefault("rows", "20")),
+                    Integer.parseInt(values.getOrDefault("seatsPerRow", "25")),
+                    Double.parseDouble(values.getOrDefault("hotFraction", "0.05")),
+                    Double.parseDouble(values.getOrDefault("hotProbability", "0.8")),
+                    Integer.parseInt(values.getOrDefault("durationSeconds", "30")));
+            if (options.hotFraction <= 0 || options.hotFraction > 1
+                    || options.hotProbability < 0 || options.hotProbability > 1) {
+                throw new IllegalArgumentException("hotFraction must be in (0, 1] and hotProbability in [0, 1]");
+            }
+            return options;
+        }
+    }
+
+    private final TheaterDAO dao = new PostgreSQLTheaterDAO();
+    private final Options options;
+    private final LatencyHistogram booked = new LatencyHistogram();
+    private final LatencyHistogram refused = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    private int theaterId;
+    private List<String> seatCodes;
+    private AtomicIntegerArray successes;   // per seat, as seen by the clients
+
+    private BookingStressTest(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        BookingStressTest test = new BookingStressTest(Options.parse(args));
+        try {
+            test.createTheater();
+            long elapsedNanos = test.run();
+            String failure = test.report(elapsedNanos);
+            if (failure != null) {
+                throw new IllegalStateException(failure + " in theater " + test.theaterId);
+            }
+        } finally {
+            DatabaseConfig.closeDataSource();
+        }
+    }
+
+    private void createTheater() {
+        String name = "Stress " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        theaterId = dao.createTheater(name, "Synthetic");
+        if (theaterId <= 0) throw new IllegalStateException("Could not create theater " + name);
+
+        int seatTypeId = dao.createSeatType("Standard", "Stress test", 10.0, theaterId);
+        for (int s = 1; s <= options.sections(); s++) {
+            dao.createSection(theaterId, "S" + s, seatTypeId, options.rows(), options.seatsPerRow(), "Stress test");
+        }
+
+        // Seats in layout order, so the hot block is the front of the first section
+        seatCodes = dao.getAllSeats(theaterId).stream().map(Seat::getSeatCode).toList();
+        if (seatCodes.isEmpty()) throw new IllegalStateException("No seats were generated for " + name);
+        successes = new AtomicIntegerArray(seatCodes.size());
+        System.out.printf("Theater %s (id %d): %d seats, %d bookers, %.0f%% of picks on %d hot seats%n",
+                name, theaterId, seatCodes.size(), options.bookers(), options.hotProbability() * 100,
+                hotSeats());
+    }
+
+    private int hotSeats() {
+        return Math.max(1, (int) (seatCodes.size() * options.hotFraction()));
+    }
+
+    /** Runs every booker on its own virtual thread; returns the elapsed time. */
+    private long run() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        LongAdder seatsBooked = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long began;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int b = 0; b < options.bookers(); b++) {
+                String customer = "Booker " + b;
+                executor.submit(() -> {
+                    start.await();
+                    book(customer, deadline, seatsBooked);
+                    return null;
+                });
+            }
+            began = System.nanoTime();
+            start.countDown();
+        }   // close() waits for every booker
+        return System.nanoTime() - began;
+    }
+
+    private void book(String customer, long deadline, LongAdder seatsBooked) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int hot = hotSeats();
+        while (System.nanoTime() < deadline && seatsBooked.sum() < seatCodes.size()) {
+            int seat = random.nextDouble() < options.hotProbability()
+                    ? random.nextInt(hot)
+                    : random.nextInt(seatCodes.size());
+
+            long t0 = System.nanoTime();
+            try {
+                if (dao.bookSeat(seatCodes.get(seat), theaterId, customer, "stress@example.com", "5550000")) {
+                    booked.record(System.nanoTime() - t0);
+                    successes.incrementAndGet(seat);
+                    seatsBooked.increment();
+                } else {
+                    refused.record(System.nanoTime() - t0);
+                }
+            } catch (RuntimeException e) {
+                errors.increment();
+            }
+        }
+    }
+
+    /**
+     * Prints the results; returns the first failed check, or null if every seat has at most one
+     * booking and the database holds exactly the bookings the clients were told succeeded.
+     */
+    private String report(long elapsedNanos) {
+        long attempts = booked.count() + refused.count() + errors.sum();
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%nAttempts: %d in %.1f s (%.0f/s), booked %d, refused %d, errors %d%n",
+                attempts, seconds, attempts / seconds, booked.count(), refused.count(), errors.sum());
+        System.out.printf("Conflict rate: %.1f%%%n", attempts > 0 ? 100.0 * refused.count() / attempts : 0.0);
+        printLatency("Booked ", booked.snapshot());
+        printLatency("Refused", refused.snapshot());
+
+        // Every seat must have at most one booking, both as the clients saw it and in the database
+        int clientDoubles = 0;
+        for (int i = 0; i < successes.length(); i++) {
+            if (successes.get(i) > 1) clientDoubles++;
+        }
+        Map<String, Long> perSeat = new HashMap<>();
+        for (Booking booking : dao.getAllBookings(theaterId)) {
+            if (!"CANCELLED".equalsIgnoreCase(booking.getStatus())) {
+                perSeat.merge(booking.getSeatCode(), 1L, Long::sum);
+            }
+        }
+        long dbDoubles = perSeat.values().stream().filter(n -> n > 1).count();
+        long dbBookings = perSeat.values().stream().mapToLong(Long::longValue).sum();
+
+        System.out.printf("Seats booked twice: %d by client count, %d in the database%n", clientDoubles, dbDoubles);
+        System.out.printf("Bookings in the database: %d, successful calls: %d%s%n", dbBookings, booked.count(),
+                dbBookings == booked.count() ? "" : "  <-- MISMATCH");
+        if (clientDoubles > 0 || dbDoubles > 0) {
+            return String.format("Seats booked twice: %d by client count, %d in the database", clientDoubles, dbDoubles);
+        }
+        if (dbBookings != booked.count()) {
+            return String.format("Database bookings (%d) differ from successful calls (%d)", dbBookings, booked.count());
+        }
+        return null;
+    }
+
+    private static void printLatency(String label, LatencyHistogram.Snapshot s) {
+        System.out.printf("%s latency ms: mean %.2f  p50 %.2f  p99 %.2f  p99.9 %.2f  max %.2f  (%d calls)%n",
+                label, s.meanNanos() / 1e6, s.p50Nanos() / 1e6, s.p99Nanos() / 1e6, s.p999Nanos() / 1e6,
+                s.maxNanos() / 1e6, s.count());
+    }
+}
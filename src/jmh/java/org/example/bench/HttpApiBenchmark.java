@@ -0,0 +1,124 @@
+package org.example.bench;
+
+import org.example.api.BookingApiServer;
+import org.example.dao.InMemorySeatInventoryDAO;
+import org.example.model.Seat;
+import org.example.service.BookingService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load test of the JSON API: many clients at once against one server, over real HTTP on localhost.
+ *
+ * By default the server runs in-process over the in-memory inventory of SeatInventoryBenchmark, so
+ * the numbers are the HTTP and JSON cost alone. Point it at a server started with --api to
+ * include PostgreSQL; bookings are cancelled again, so the theater is left as it was:
+ *   mvn -Pbenchmarks test-compile exec:exec -Djmh.args="HttpApiBenchmark -t 64 -p baseUrl=http://localhost:8080 -p theaterId=1"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(32)
+@Fork(1)
+public class HttpApiBenchmark {
+    private static final Pattern SEAT_CODE = Pattern.compile("\"seatCode\":\"([^\"]+)\"");
+    private static final Pattern BOOKING_ID = Pattern.compile("\"bookingId\":(\\d+)");
+
+    /** Empty: start an in-process server over a stub database. */
+    @Param({""})
+    public String baseUrl;
+
+    @Param({"1"})
+    public int theaterId;
+
+    private BookingService bookingService;
+    private BookingApiServer server;
+    private HttpClient client;
+    private String theaterUrl;
+    private List<String> seatCodes;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException, InterruptedException {
+        String url = baseUrl;
+        if (url.isEmpty()) {
+            InMemorySeatInventoryDAO inventory = SeatInventoryBenchmark.stubInventory(20, 25, 30, new ArrayList<>());
+            bookingService = new BookingService(inventory, inventory);
+            server = new BookingApiServer(bookingService, 0, 1024).start();
+            url = "http://localhost:" + server.port();
+            theaterId = SeatInventoryBenchmark.THEATER_ID;
+        }
+        theaterUrl = url + "/api/theaters/" + theaterId;
+        client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        seatCodes = new ArrayList<>();
+        Matcher m = SEAT_CODE.matcher(get(theaterUrl + "/seats?status=AVAILABLE"));
+        while (m.find()) seatCodes.add(m.group(1));
+        if (seatCodes.isEmpty()) {
+            throw new IllegalStateException("Theater " + theaterId + " has no available seats to book");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        if (server != null) server.close();
+        if (bookingService != null) bookingService.close();
+    }
+
+    @Benchmark
+    public int theaters() throws IOException, InterruptedException {
+        return get(theaterUrl.substring(0, theaterUrl.lastIndexOf('/'))).length();
+    }
+
+    @Benchmark
+    public int seatMap() throws IOException, InterruptedException {
+        return get(theaterUrl + "/seat-map?status=AVAILABLE").length();
+    }
+
+    @Benchmark
+    public int availableSeats() throws IOException, InterruptedException {
+        return get(theaterUrl + "/seats?status=AVAILABLE").length();
+    }
+
+    @Benchmark
+    public boolean bookAndCancel() throws IOException, InterruptedException {
+        String seatCode = seatCodes.get(Math.floorMod(cursor.getAndIncrement(), seatCodes.size()));
+        HttpResponse<String> booked = client.send(HttpRequest.newBuilder(URI.create(theaterUrl + "/bookings"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"seatCode\":\"" + seatCode + "\",\"customerName\":\"Bench\","
+                        + "\"customerEmail\":\"bench@example.com\",\"customerPhone\":\"5550000\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher id = BOOKING_ID.matcher(booked.body());
+        if (booked.statusCode() != 201 || !id.find()) return false;   // 409: another thread holds the seat
+
+        HttpResponse<Void> cancelled = client.send(
+                HttpRequest.newBuilder(URI.create(theaterUrl + "/bookings/" + id.group(1))).DELETE().build(),
+                HttpResponse.BodyHandlers.discarding());
+        return cancelled.statusCode() == 204;
+    }
+
+    private String get(String url) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.bench;
+
+import org.example.config.DatabaseConfig;
+import org.example.dao.PostgreSQLTheaterDAO;
+import org.example.dao.TheaterDAO;
+import org.example.model.BookingConfirmation;
+import org.example.model.Seat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * createBooking followed by cancelBooking against the local PostgreSQL database of DatabaseConfig.
+ * Every iteration leaves the seat available again. Excluded from the default run; start it with
+ *   mvn -Pbenchmarks test-compile exec:exec -Djmh.args="PostgresBookingBenchmark -p theaterId=1 -rf json -rff target/jmh-db.json"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class PostgresBookingBenchmark {
+
+    @Param({"1"})
+    public int theaterId;
+
+    private TheaterDAO dao;
+    private List<Seat> seats;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void findSeats() {
+        dao = new PostgreSQLTheaterDAO();
+        seats = dao.getAllAvailableSeats(theaterId);
+        if (seats.isEmpty()) {
+            throw new IllegalStateException("Theater " + theaterId + " has no available seats to book");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closePool() {
+        DatabaseConfig.closeDataSource();
+    }
+
+    @Benchmark
+    public boolean bookAndCancel() {
+        String seatCode = seats.get(Math.floorMod(cursor.getAndIncrement(), seats.size())).getSeatCode();
+        Optional<BookingConfirmation> booking =
+                dao.createBooking(seatCode, theaterId, "Bench", "bench@example.com", "5550000");
+        return booking.isPresent() && dao.cancelBooking(booking.get().bookingId(), theaterId);
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.bench;
+
+import org.example.dao.InMemorySeatInventoryDAO;
+import org.example.dao.TheaterDAO;
+import org.example.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Booking hot paths of the in-memory inventory, with the database replaced by a stub
+ * that accepts every write. Measures the inventory's own cost per call; use -t to add threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeatInventoryBenchmark {
+    static final int THEATER_ID = 1;
+
+    @Param({"20"})
+    public int sections;
+
+    @Param({"25"})
+    public int rowsPerSection;
+
+    @Param({"30"})
+    public int seatsPerRow;
+
+    private InMemorySeatInventoryDAO dao;
+    private List<Seat> seats;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void loadInventory() {
+        seats = new ArrayList<>();
+        dao = stubInventory(sections, rowsPerSection, seatsPerRow, seats);
+    }
+
+    /** An inventory of generated sections over {@link #stubDatabase}; adds every generated seat to seats. */
+    static InMemorySeatInventoryDAO stubInventory(int sections, int rowsPerSection, int seatsPerRow, List<Seat> seats) {
+        List<Section> sectionList = new ArrayList<>();
+        int seatId = 0;
+        for (int s = 1; s <= sections; s++) {
+            sectionList.add(new Section(THEATER_ID, s, "S" + s, 1, "Standard",
+                    rowsPerSection, seatsPerRow, "Generated", true));
+            for (int r = 1; r <= rowsPerSection; r++) {
+                for (int n = 1; n <= seatsPerRow; n++) {
+                    seats.add(new Seat(seatId, BenchmarkFiles.seatCode(seatId), s, r, n, 1, "AVAILABLE", true));
+                    seatId++;
+                }
+            }
+        }
+
+        InMemorySeatInventoryDAO inventory = new InMemorySeatInventoryDAO(stubDatabase(sectionList, seats));
+        inventory.rebuild();
+        return inventory;
+    }
+
+    @Benchmark
+    public boolean bookAndCancel() {
+        // Booking ids of the stub are seat ids, so every booking can be cancelled again
+        Seat seat = seats.get(Math.floorMod(cursor.getAndIncrement(), seats.size()));
+        dao.bookSeat(seat.getSeatCode(), THEATER_ID, "Bench", "bench@example.com", "5550000");
+        return dao.cancelBooking(seat.getId(), THEATER_ID);
+    }
+
+    @Benchmark
+    public List<Integer> rowsWithAvailableSeats() {
+        return dao.getRowsWithAvailableSeats("S" + (1 + Math.floorMod(cursor.getAndIncrement(), sections)), THEATER_ID);
+    }
+
+    @Benchmark
+    public List<Seat> availableSeatsByRow() {
+        int i = Math.floorMod(cursor.getAndIncrement(), sections * rowsPerSection);
+        return dao.getAvailableSeatsByRow("S" + (1 + i / rowsPerSection), 1 + i % rowsPerSection, THEATER_ID);
+    }
+
+    @Benchmark
+    public int availableSeatsCount() {
+        return dao.getAvailableSeatsCount(THEATER_ID);
+    }
+
+    /** A TheaterDAO serving the generated layout and accepting every write; other calls return empty values. */
+    private static TheaterDAO stubDatabase(List<Section> sections, List<Seat> seats) {
+        Theater theater = new Theater(THEATER_ID, "Bench Theater", "Generated");
+        return (TheaterDAO) Proxy.newProxyInstance(TheaterDAO.class.getClassLoader(),
+                new Class<?>[]{TheaterDAO.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getAllTheaters" -> List.of(theater);
+                    case "getTheaterById" -> Optional.ofNullable((Integer) args[0] == THEATER_ID ? theater : null);
+                    case "getAllSections" -> sections;
+                    case "getAllSeats" -> seats;
+                    case "bookSeat", "cancelBooking" -> true;
+                    case "createBooking" -> {
+                        String seatCode = (String) args[0];
+                        int seatId = (seatCode.charAt(0) - 'A') + 26 * Integer.parseInt(seatCode.substring(1));
+                        yield Optional.of(new BookingConfirmation(seatId, seatId, seatCode, 0.0));
+                    }
+                    case "getBookingById" -> {
+                        Seat seat = seats.get((Integer) args[0]);
+                        yield Optional.of(new Booking(seat.getId(), seat.getId(), seat.getSeatCode(), "Bench",
+                                "bench@example.com", "5550000", LocalDateTime.now(), 0.0, null, "CONFIRMED"));
+                    }
+                    default -> emptyValue(method.getReturnType());
+                });
+    }
+
+    private static Object emptyValue(Class<?> type) {
+        if (type == Optional.class) return Optional.empty();
+        if (type == List.class) return List.of();
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == double.class) return 0.0;
+        return null;
+    }
+}
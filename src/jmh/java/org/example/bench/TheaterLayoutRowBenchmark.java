@@ -0,0 +1,36 @@
+package org.example.bench;
+
+import org.example.model.TheaterLayoutRow;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TheaterLayoutRowBenchmark {
+
+    /** Seat blocks of a row, 0 marks an aisle. */
+    @Param({"12", "6,0,6", "4,0,8,0,8,0,4", "2,0,2,0,2,0,2,0,2,0,2,0,2,0,2"})
+    public String configuration;
+
+    private TheaterLayoutRow row;
+
+    @Setup
+    public void createRow() {
+        List<Integer> seats = Arrays.stream(configuration.split(","))
+                .map(Integer::valueOf)
+                .toList();
+        row = new TheaterLayoutRow("Bench Theater", "Generated", "Orchestra", 1, seats, "Standard");
+    }
+
+    @Benchmark
+    public int seatsPerRow() {
+        return row.seatsPerRow();
+    }
+}
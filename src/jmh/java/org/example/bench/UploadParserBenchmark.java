@@ -0,0 +1,78 @@
+package org.example.bench;
+
+import org.example.upload.BookingCsvFile;
+import org.example.upload.BookingJsonFile;
+import org.example.upload.TheaterLayoutCsvFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time to stream one whole generated upload file through each parser.
+ * Rows per second is rows / score; run 10M rows with -p rows=10000000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class UploadParserBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private Path bookingsCsv;
+    private Path bookingsJson;
+    private Path layoutCsv;
+    private PrintStream console;
+
+    private final BookingCsvFile bookingCsvParser = new BookingCsvFile();
+    private final BookingJsonFile bookingJsonParser = new BookingJsonFile();
+    private final TheaterLayoutCsvFile layoutCsvParser = new TheaterLayoutCsvFile();
+
+    @Setup(Level.Trial)
+    public void generateFiles() throws IOException {
+        bookingsCsv = BenchmarkFiles.bookingsCsv(rows);
+        bookingsJson = BenchmarkFiles.bookingsJson(rows);
+        layoutCsv = BenchmarkFiles.layoutCsv(rows);
+
+        // The layout parser reports every line on stdout; measure parsing, not the terminal
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        System.setOut(console);
+        BenchmarkFiles.delete(bookingsCsv);
+        BenchmarkFiles.delete(bookingsJson);
+        BenchmarkFiles.delete(layoutCsv);
+    }
+
+    @Benchmark
+    public long bookingCsv() throws IOException {
+        try (Stream<?> s = bookingCsvParser.stream(bookingsCsv.toString())) {
+            return s.count();
+        }
+    }
+
+    @Benchmark
+    public long bookingJson() throws IOException {
+        try (Stream<?> s = bookingJsonParser.stream(bookingsJson.toString())) {
+            return s.count();
+        }
+    }
+
+    @Benchmark
+    public long theaterLayoutCsv() throws IOException {
+        try (Stream<?> s = layoutCsvParser.stream(layoutCsv.toString())) {
+            return s.count();
+        }
+    }
+}
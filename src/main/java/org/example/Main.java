@@ -1,20 +1,70 @@
 package org.example;
 
+import org.example.api.BookingApiServer;
 import org.example.config.DatabaseConfig;
+import org.example.config.Settings;
+import org.example.config.SchemaMigrations;
 import org.example.dao.*;
+import org.example.metrics.DaoMetrics;
 import org.example.model.*;
+import org.example.notify.ChangeNotificationListener;
+import org.example.service.BookingService;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
 import java.util.stream.Collectors;
 
 public class Main {
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--api")) {
+            serveApi();
+            return;
+        }
+
         TheaterManagementSystem theater = new TheaterManagementSystem();
 
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             System.out.println("\nShutting down Theater Management System...");
+            DaoMetrics.dump(System.out);
             DatabaseConfig.closeDataSource();
         }));
 
         theater.start();
     }
-}
\ No newline at end of file
+
+    /** Runs the JSON API instead of the console until the process is stopped. */
+    private static void serveApi() {
+        CachingTheaterDAO lookupCache = new CachingTheaterDAO(TimedTheaterDAO.wrap(new PostgreSQLTheaterDAO()),
+                CachingTheaterDAO.DEFAULT_MAX_ENTRIES, CachingTheaterDAO.NOTIFIED_TTL);
+        InMemorySeatInventoryDAO seatInventory = new InMemorySeatInventoryDAO(lookupCache);
+        ChangeNotificationListener changeListener = new ChangeNotificationListener()
+                .subscribe(lookupCache::onChange)
+                .subscribe(seatInventory::onChange);
+
+        SchemaMigrations.apply();
+        changeListener.start();
+        seatInventory.rebuild();
+
+        Settings settings = DatabaseConfig.getSettings();
+        BookingService bookingService = new BookingService(seatInventory, seatInventory);
+        BookingApiServer server = new BookingApiServer(bookingService,
+                settings.getInt("api.port", BookingApiServer.DEFAULT_PORT),
+                settings.getInt("api.backlog", 0)).start();
+        System.out.println("Theater booking API listening on port " + server.port());
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println("\nShutting down Theater booking API...");
+            server.close();
+            bookingService.close();
+            changeListener.close();
+            DaoMetrics.dump(System.out);
+            DatabaseConfig.closeDataSource();
+            stopped.countDown();
+        }));
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -4,8 +4,10 @@ import org.example.dao.*;
 import org.example.model.*;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
@@ -14,17 +16,36 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.example.config.*;
+import org.example.importer.*;
+import org.example.inventory.BestSeatFinder;
+import org.example.inventory.SectionLayout;
+import org.example.inventory.TheaterInventory;
+import org.example.metrics.DaoMetrics;
+import org.example.metrics.LatencyHistogram;
+import org.example.metrics.PoolMetrics;
+import org.example.notify.ChangeNotificationListener;
+import org.example.service.BookingService;
+import org.example.service.BookingSession;
 import org.example.upload.*;
 import org.example.upload.UploadFile;
 
 import static org.example.dao.PostgreSQLTheaterDAO.*;
 
 public class TheaterManagementSystem {
+    private static final int BOOKINGS_PAGE_SIZE = 20;
+
     private final Scanner scanner = new Scanner(System.in);
-    private final TheaterDAO theaterDAO = new PostgreSQLTheaterDAO();
-    private int currentTheaterId = -1;
-    private String currentTheaterName = "";
+    private final CachingTheaterDAO lookupCache = new CachingTheaterDAO(TimedTheaterDAO.wrap(new PostgreSQLTheaterDAO()),
+            CachingTheaterDAO.DEFAULT_MAX_ENTRIES, CachingTheaterDAO.NOTIFIED_TTL);
+    private final InMemorySeatInventoryDAO seatInventory = new InMemorySeatInventoryDAO(lookupCache);
+    private final TheaterDAO theaterDAO = seatInventory;
+    private final BookingService bookingService = new BookingService(theaterDAO, seatInventory);
+    private final BookingSession session = bookingService.openSession("console-" + ProcessHandle.current().pid());
+    private final ChangeNotificationListener changeListener = new ChangeNotificationListener()
+            .subscribe(lookupCache::onChange)
+            .subscribe(seatInventory::onChange);
 
     public void start() {
         System.out.println("======================================");
@@ -32,6 +53,14 @@ public class TheaterManagementSystem {
         System.out.println("======================================");
         System.out.println("Connected to PostgreSQL Database");
 
+        SchemaMigrations.apply();
+        int staleHolds = theaterDAO.releaseExpiredHolds();
+        if (staleHolds > 0) {
+            System.out.println("Released " + staleHolds + " expired seat holds");
+        }
+        changeListener.start();   // other nodes' writes keep our caches current
+        seatInventory.rebuild();
+
         // Select theater first
         if (!selectTheater()) {
             System.out.println("No theater selected. Exiting...");
@@ -53,7 +82,11 @@ public class TheaterManagementSystem {
                 case 7 -> manageBookings();
                 case 8 -> importBookings();
                 case 9 -> switchTheater();
-                case 10 -> {
+                case 10 -> viewSystemStatistics();
+                case 11 -> viewDaoLatency();
+                case 12 -> {
+                    bookingService.close();
+                    changeListener.close();
                     System.out.println("Thank you for using Theater Management System!");
                     return;
                 }
@@ -86,9 +119,8 @@ public class TheaterManagementSystem {
 
         if (choice >= 1 && choice <= theaters.size()) {
             Theater selected = theaters.get(choice - 1);
-            currentTheaterId = selected.getId();
-            currentTheaterName = selected.getName();
-            System.out.println("Selected theater: " + currentTheaterName);
+            session.selectTheater(selected.getId(), selected.getName());
+            System.out.println("Selected theater: " + session.theaterName());
             return true;
         }
 
@@ -105,8 +137,7 @@ public class TheaterManagementSystem {
 
         int theaterId = theaterDAO.createTheater(name, location);
         if (theaterId > 0) {
-            currentTheaterId = theaterId;
-            currentTheaterName = name;
+            session.selectTheater(theaterId, name);
             System.out.println("Theater created successfully!");
             return true;
         } else {
@@ -117,13 +148,13 @@ public class TheaterManagementSystem {
 
     private void switchTheater() {
         if (selectTheater()) {
-            System.out.println("Switched to theater: " + currentTheaterName);
+            System.out.println("Switched to theater: " + session.theaterName());
         }
     }
 
     private void showMainMenu() {
         System.out.println("\n========== MAIN MENU ==========");
-        System.out.println("Current Theater: " + currentTheaterName + " (ID: " + currentTheaterId + ")");
+        System.out.println("Current Theater: " + session.theaterName() + " (ID: " + session.theaterId() + ")");
         System.out.println("1. Manage Theaters");
         System.out.println("2. Theater Configuration");
         System.out.println("3. Manage Seat Types");
@@ -133,7 +164,9 @@ public class TheaterManagementSystem {
         System.out.println("7. Manage Bookings");
         System.out.println("8. Import bookings");
         System.out.println("9. Switch Theater");
-        System.out.println("10. Exit");
+        System.out.println("10. System Statistics");
+        System.out.println("11. DAO Latency");
+        System.out.println("12. Exit");
         System.out.print("Choose an option: ");
     }
 
@@ -171,7 +204,7 @@ public class TheaterManagementSystem {
             System.out.println("No theaters found.");
         } else {
             theaters.forEach(theater -> {
-                String current = (theater.getId() == currentTheaterId) ? " (CURRENT)" : "";
+                String current = (theater.getId() == session.theaterId()) ? " (CURRENT)" : "";
                 System.out.println(theater + current);
             });
         }
@@ -217,8 +250,8 @@ public class TheaterManagementSystem {
 
         if (theaterDAO.updateTheater(theaterId, newName, newLocation)) {
             System.out.println("Theater updated successfully!");
-            if (theaterId == currentTheaterId) {
-                currentTheaterName = newName;
+            if (theaterId == session.theaterId()) {
+                session.renameTheater(newName);
             }
         } else {
             System.out.println("Failed to update theater!");
@@ -231,7 +264,7 @@ public class TheaterManagementSystem {
         System.out.print("Enter theater ID to delete: ");
         int theaterId = getIntInput();
 
-        if (theaterId == currentTheaterId) {
+        if (theaterId == session.theaterId()) {
             System.out.println("Cannot delete the currently selected theater!");
             return;
         }
@@ -255,25 +288,31 @@ public class TheaterManagementSystem {
 
     private void viewCrossTheaterStatistics() {
         System.out.println("\n=== Cross-Theater Statistics ===");
-        int totalSeats = theaterDAO.getTotalSeatsAllTheaters();
-        int availableSeats = theaterDAO.getAvailableSeatsCountAllTheaters();
-        int bookedSeats = theaterDAO.getBookedSeatsCountAllTheaters();
-        double totalRevenue = theaterDAO.getTotalRevenueAllTheaters();
-
-        System.out.printf("Total seats (all theaters): %d%n", totalSeats);
-        System.out.printf("Available seats: %d%n", availableSeats);
-        System.out.printf("Booked seats: %d%n", bookedSeats);
-        System.out.printf("Total revenue: $%.2f%n", totalRevenue);
-
-        List<Booking> allBookings = theaterDAO.getAllBookingsAllTheaters();
-        System.out.printf("Total bookings: %d%n", allBookings.size());
+        OccupancyReport report = theaterDAO.getOccupancyReport();
+
+        System.out.printf("%-30s %8s %9s %8s %9s %12s %7s%n",
+                "Theater / Section", "Seats", "Available", "Booked", "Bookings", "Revenue", "Occ.");
+        for (OccupancyReport.TheaterTotals theater : report.theaters()) {
+            printOccupancyLine(theater.theaterName(), theater.totals());
+            for (OccupancyReport.SectionTotals section : theater.sections()) {
+                printOccupancyLine("  " + section.sectionName(), section.totals());
+            }
+        }
+        printOccupancyLine("All theaters", report.total());
+        System.out.println("As of " + report.generatedAt());
+    }
+
+    private static void printOccupancyLine(String label, OccupancyReport.Totals totals) {
+        System.out.printf("%-30s %8d %9d %8d %9d %12.2f %6.1f%%%n",
+                label, totals.totalSeats(), totals.availableSeats(), totals.bookedSeats(),
+                totals.bookings(), totals.revenue(), totals.occupancyRate() * 100);
     }
 
     // 2. Theater Configuration Management
     private void manageTheaterConfiguration() {
         while (true) {
             System.out.println("\n========== THEATER CONFIGURATION ==========");
-            System.out.println("Theater: " + currentTheaterName);
+            System.out.println("Theater: " + session.theaterName());
             System.out.println("1. View current configuration");
             System.out.println("2. Update theater name");
             System.out.println("3. Update capacity limits");
@@ -297,7 +336,7 @@ public class TheaterManagementSystem {
 
     private void viewTheaterConfiguration() {
         System.out.println("\n=== Current Theater Configuration ===");
-        List<TheaterConfig> configs = theaterDAO.getAllConfigs(currentTheaterId);
+        List<TheaterConfig> configs = theaterDAO.getAllConfigs(session.theaterId());
         if (configs.isEmpty()) {
             System.out.println("No configurations found for this theater.");
         } else {
@@ -309,9 +348,9 @@ public class TheaterManagementSystem {
         System.out.print("Enter new theater name: ");
         String name = scanner.nextLine();
 
-        if (theaterDAO.updateConfig("theater_name", name, currentTheaterId)) {
+        if (theaterDAO.updateConfig("theater_name", name, session.theaterId())) {
             System.out.println("Theater name updated successfully!");
-            currentTheaterName = name;
+            session.renameTheater(name);
         } else {
             System.out.println("Failed to update theater name!");
         }
@@ -326,20 +365,20 @@ public class TheaterManagementSystem {
         System.out.print("Maximum seats per row: ");
         int maxSeats = getIntInput();
 
-        theaterDAO.updateConfig("max_sections", String.valueOf(maxSections), currentTheaterId);
-        theaterDAO.updateConfig("max_rows_per_section", String.valueOf(maxRows), currentTheaterId);
-        theaterDAO.updateConfig("max_seats_per_row", String.valueOf(maxSeats), currentTheaterId);
+        theaterDAO.updateConfig("max_sections", String.valueOf(maxSections), session.theaterId());
+        theaterDAO.updateConfig("max_rows_per_section", String.valueOf(maxRows), session.theaterId());
+        theaterDAO.updateConfig("max_seats_per_row", String.valueOf(maxSeats), session.theaterId());
 
         System.out.println("Capacity limits updated successfully!");
     }
 
     private void toggleBookingSystem() {
-        Optional<TheaterConfig> config = theaterDAO.getConfigByKey("booking_enabled", currentTheaterId);
+        Optional<TheaterConfig> config = theaterDAO.getConfigByKey("booking_enabled", session.theaterId());
         if (config.isPresent()) {
             boolean currentStatus = "true".equals(config.get().getConfigValue());
             boolean newStatus = !currentStatus;
 
-            if (theaterDAO.updateConfig("booking_enabled", String.valueOf(newStatus), currentTheaterId)) {
+            if (theaterDAO.updateConfig("booking_enabled", String.valueOf(newStatus), session.theaterId())) {
                 System.out.println("Booking system " + (newStatus ? "ENABLED" : "DISABLED"));
             }
         } else {
@@ -351,7 +390,7 @@ public class TheaterManagementSystem {
     private void manageSeatTypes() {
         while (true) {
             System.out.println("\n========== MANAGE SEAT TYPES ==========");
-            System.out.println("Theater: " + currentTheaterName);
+            System.out.println("Theater: " + session.theaterName());
             System.out.println("1. View all seat types");
             System.out.println("2. Create new seat type");
             System.out.println("3. Update seat type");
@@ -375,7 +414,7 @@ public class TheaterManagementSystem {
 
     private void viewAllSeatTypes() {
         System.out.println("\n=== All Seat Types ===");
-        List<SeatType> seatTypes = theaterDAO.getAllSeatTypes(currentTheaterId);
+        List<SeatType> seatTypes = theaterDAO.getAllSeatTypes(session.theaterId());
         if (seatTypes.isEmpty()) {
             System.out.println("No seat types found.");
         } else {
@@ -433,7 +472,7 @@ public class TheaterManagementSystem {
         String priceInput = scanner.nextLine();
         double newPrice = priceInput.trim().isEmpty() ? current.getPrice() : Double.parseDouble(priceInput);
 
-        if (theaterDAO.updateSeatType(current.getId(), currentTheaterId, newName, newDescription, newPrice)) {
+        if (theaterDAO.updateSeatType(current.getId(), session.theaterId(), newName, newDescription, newPrice)) {
             System.out.println("Seat type updated successfully!");
         } else {
             System.out.println("Failed to update seat type!");
@@ -457,7 +496,7 @@ public class TheaterManagementSystem {
         System.out.print("Are you sure you want to delete '" + name + "'? (y/N): ");
         String confirm = scanner.nextLine();
         if ("y".equalsIgnoreCase(confirm) || "yes".equalsIgnoreCase(confirm)) {
-            if (theaterDAO.deleteSeatType(seatType.get().getId(), currentTheaterId)) {
+            if (theaterDAO.deleteSeatType(seatType.get().getId(), session.theaterId())) {
                 System.out.println("Seat type deleted successfully!");
             } else {
                 System.out.println("Cannot delete seat type - it may be in use by sections!");
@@ -469,7 +508,7 @@ public class TheaterManagementSystem {
     private void manageSections() {
         while (true) {
             System.out.println("\n========== MANAGE SECTIONS ==========");
-            System.out.println("Theater: " + currentTheaterName);
+            System.out.println("Theater: " + session.theaterName());
             System.out.println("1. View all sections");
             System.out.println("2. Create new section");
             System.out.println("3. Update section configuration");
@@ -512,14 +551,34 @@ public class TheaterManagementSystem {
             parser = new TxtFile();
         }
 
-        try {
-            List<SectionRow> rows = parser.parse(path);
+        try (Stream<SectionRow> stream = parser.stream(path)) {
+            Iterator<SectionRow> iterator = stream.iterator();
+            List<SectionRow> rows = new ArrayList<>();
+
+            int bulkThreshold = bulkLoadThreshold();
+            while (rows.size() <= bulkThreshold && iterator.hasNext()) {
+                rows.add(iterator.next());
+            }
+
+            if (rows.size() > bulkThreshold) {
+                System.out.println("More than " + bulkThreshold + " rows (bulk-load threshold), using COPY");
+                ImportStats stats;
+                try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+                    stats = new CopyBulkLoader(session.theaterId()).loadSections(conn, concat(rows.iterator(), iterator));
+                }
+                lookupCache.invalidate(session.theaterId());
+                seatInventory.invalidate(session.theaterId());
+                System.out.printf("Import complete – %d sections (rows) created, %d skipped.%n",
+                        stats.created(), stats.skipped());
+                return;
+            }
+
             int created = 0, skipped = 0;
 
             for (SectionRow r : rows) {
                 Optional<SeatType> st = r.getSeatType().matches("\\d+")
-                        ? theaterDAO.getSeatTypeById(Integer.parseInt(r.getSeatType()), currentTheaterId)
-                        : theaterDAO.getSeatTypeByName(r.getSeatType(), theaterId);
+                        ? theaterDAO.getSeatTypeById(Integer.parseInt(r.getSeatType()), session.theaterId())
+                        : theaterDAO.getSeatTypeByName(r.getSeatType(), session.theaterId());
 
                 if (st.isEmpty()) {
                     System.out.println("Unknown seat type " + r.getSeatType() + " – skipped");
@@ -529,13 +588,13 @@ public class TheaterManagementSystem {
 
                 String sectionKey = r.getSectionName() + r.getRowNumber();
 
-                if (theaterDAO.getSectionByName(sectionKey, currentTheaterId).isPresent()) {
+                if (theaterDAO.getSectionByName(sectionKey, session.theaterId()).isPresent()) {
                     skipped++;
                     continue;
                 }
 
                 theaterDAO.createSection(
-                        currentTheaterId,
+                        session.theaterId(),
                         sectionKey,
                         st.get().getId(),
                         1,
@@ -556,7 +615,7 @@ public class TheaterManagementSystem {
 
     private void viewAllSections() {
         System.out.println("\n=== All Sections ===");
-        List<Section> sections = theaterDAO.getAllSections(currentTheaterId);
+        List<Section> sections = theaterDAO.getAllSections(session.theaterId());
         if (sections.isEmpty()) {
             System.out.println("No sections found.");
         } else {
@@ -571,7 +630,7 @@ public class TheaterManagementSystem {
 
         // Show available seat types
         System.out.println("Available seat types:");
-        List<SeatType> seatTypes = theaterDAO.getAllSeatTypes(currentTheaterId);
+        List<SeatType> seatTypes = theaterDAO.getAllSeatTypes(session.theaterId());
         if (seatTypes.isEmpty()) {
             System.out.println("No seat types available. Please create seat types first.");
             return;
@@ -584,7 +643,7 @@ public class TheaterManagementSystem {
         System.out.print("Seat type name: ");
         String seatTypeName = scanner.nextLine().toUpperCase();
 
-        Optional<SeatType> seatType = theaterDAO.getSeatTypeByName(seatTypeName, theaterId);
+        Optional<SeatType> seatType = theaterDAO.getSeatTypeByName(seatTypeName, session.theaterId());
         if (seatType.isEmpty()) {
             System.out.println("Invalid seat type!");
             return;
@@ -597,7 +656,7 @@ public class TheaterManagementSystem {
         System.out.print("Description: ");
         String description = scanner.nextLine();
 
-        int id = theaterDAO.createSection(currentTheaterId, name, seatType.get().getId(), rows, seatsPerRow, description);
+        int id = theaterDAO.createSection(session.theaterId(), name, seatType.get().getId(), rows, seatsPerRow, description);
         if (id > 0) {
             System.out.println("Section created successfully with " + (rows * seatsPerRow) + " seats!");
         } else {
@@ -611,7 +670,7 @@ public class TheaterManagementSystem {
         System.out.print("Enter section name to update: ");
         String name = scanner.nextLine().toUpperCase();
 
-        Optional<Section> section = theaterDAO.getSectionByName(name, currentTheaterId);
+        Optional<Section> section = theaterDAO.getSectionByName(name, session.theaterId());
         if (section.isEmpty()) {
             System.out.println("Section not found!");
             return;
@@ -626,17 +685,17 @@ public class TheaterManagementSystem {
         int seatsPerRow = getIntInput();
 
         System.out.println("Available seat types:");
-        theaterDAO.getAllSeatTypes(currentTheaterId).forEach(System.out::println);
+        theaterDAO.getAllSeatTypes(session.theaterId()).forEach(System.out::println);
         System.out.print("New seat type name: ");
         String seatTypeName = scanner.nextLine().toUpperCase();
 
-        Optional<SeatType> seatType = theaterDAO.getSeatTypeByName(seatTypeName, theaterId);
+        Optional<SeatType> seatType = theaterDAO.getSeatTypeByName(seatTypeName, session.theaterId());
         if (seatType.isEmpty()) {
             System.out.println("Invalid seat type!");
             return;
         }
 
-        if (theaterDAO.updateSection(name, currentTheaterId, rows, seatsPerRow, seatType.get().getId())) {
+        if (theaterDAO.updateSection(name, session.theaterId(), rows, seatsPerRow, seatType.get().getId())) {
             System.out.println("Section updated successfully! Seats have been regenerated.");
         } else {
             System.out.println("Failed to update section!");
@@ -649,7 +708,7 @@ public class TheaterManagementSystem {
         System.out.print("Enter section name: ");
         String name = scanner.nextLine().toUpperCase();
 
-        Optional<Section> section = theaterDAO.getSectionByName(name, currentTheaterId);
+        Optional<Section> section = theaterDAO.getSectionByName(name, session.theaterId());
         if (section.isEmpty()) {
             System.out.println("Section not found!");
             return;
@@ -659,8 +718,8 @@ public class TheaterManagementSystem {
         boolean newStatus = !current.isActive();
 
         boolean success = newStatus ?
-                theaterDAO.activateSection(name, currentTheaterId) :
-                theaterDAO.deactivateSection(name, currentTheaterId);
+                theaterDAO.activateSection(name, session.theaterId()) :
+                theaterDAO.deactivateSection(name, session.theaterId());
 
         if (success) {
             System.out.println("Section " + name + " " + (newStatus ? "ACTIVATED" : "DEACTIVATED"));
@@ -678,7 +737,7 @@ public class TheaterManagementSystem {
         System.out.print("This will delete all existing seats and bookings for this section. Continue? (y/N): ");
         String confirm = scanner.nextLine();
         if ("y".equalsIgnoreCase(confirm) || "yes".equalsIgnoreCase(confirm)) {
-            int seatCount = theaterDAO.generateSeatsForSection(name, currentTheaterId);
+            int seatCount = theaterDAO.generateSeatsForSection(name, session.theaterId());
             if (seatCount > 0) {
                 System.out.println("Generated " + seatCount + " seats for section " + name);
             } else {
@@ -690,27 +749,30 @@ public class TheaterManagementSystem {
     // 5. Booking System
     private void bookingSeason() {
         // Check if booking is enabled
-        Optional<TheaterConfig> config = theaterDAO.getConfigByKey("booking_enabled", currentTheaterId);
-        if (config.isPresent() && "false".equals(config.get().getConfigValue())) {
+        if (!session.bookingEnabled()) {
             System.out.println("Booking system is currently disabled!");
             return;
         }
 
         while (true) {
             System.out.println("\n========== BOOKING SYSTEM ==========");
-            System.out.println("Theater: " + currentTheaterName);
+            System.out.println("Theater: " + session.theaterName());
             System.out.println("1. Book a seat");
-            System.out.println("2. Show available seats");
-            System.out.println("3. Show booked seats");
-            System.out.println("4. Back to main menu");
+            System.out.println("2. Book seats for a group");
+            System.out.println("3. Find best available seats");
+            System.out.println("4. Show available seats");
+            System.out.println("5. Show booked seats");
+            System.out.println("6. Back to main menu");
             System.out.print("Choose an option: ");
 
             int choice = getIntInput();
             switch (choice) {
                 case 1 -> processBooking();
-                case 2 -> showAvailableSeats();
-                case 3 -> showBookedSeats();
-                case 4 -> {
+                case 2 -> processGroupBooking();
+                case 3 -> processBestSeatBooking();
+                case 4 -> showAvailableSeats();
+                case 5 -> showBookedSeats();
+                case 6 -> {
                     return;
                 }
                 default -> System.out.println("Invalid choice!");
@@ -723,7 +785,7 @@ public class TheaterManagementSystem {
 
         // Show active sections
         System.out.println("Available sections:");
-        List<Section> sections = theaterDAO.getActiveSections(currentTheaterId);
+        List<Section> sections = session.activeSections();
         if (sections.isEmpty()) {
             System.out.println("No active sections available!");
             return;
@@ -734,7 +796,7 @@ public class TheaterManagementSystem {
         System.out.print("Choose your section: ");
         String sectionName = scanner.nextLine().toUpperCase();
 
-        Optional<Section> section = theaterDAO.getSectionByName(sectionName, currentTheaterId);
+        Optional<Section> section = session.section(sectionName);
         if (section.isEmpty() || !section.get().isActive()) {
             System.out.println("Invalid or inactive section!");
             return;
@@ -742,10 +804,7 @@ public class TheaterManagementSystem {
 
         // Show available rows
         System.out.println("Available rows in section " + sectionName + ":");
-        List<Seat> sectionSeats = theaterDAO.getAvailableSeatsBySection(sectionName, currentTheaterId);
-        Set<Integer> availableRows = sectionSeats.stream()
-                .map(Seat::getRowNumber)
-                .collect(Collectors.toCollection(TreeSet::new));
+        List<Integer> availableRows = session.rowsWithAvailableSeats(sectionName);
 
         if (availableRows.isEmpty()) {
             System.out.println("No available rows in this section!");
@@ -761,7 +820,7 @@ public class TheaterManagementSystem {
         }
 
         // Show available seats in the chosen row
-        List<Seat> rowSeats = theaterDAO.getAvailableSeatsByRow(sectionName, chosenRow, currentTheaterId);
+        List<Seat> rowSeats = session.availableSeatsInRow(sectionName, chosenRow);
         if (rowSeats.isEmpty()) {
             System.out.println("No available seats in row " + chosenRow);
             return;
@@ -774,13 +833,50 @@ public class TheaterManagementSystem {
         System.out.print("Enter seat code to book: ");
         String seatCode = scanner.nextLine().toUpperCase();
 
-        Optional<Seat> seatOpt = theaterDAO.getSeatByCode(seatCode, currentTheaterId);
-        if (seatOpt.isEmpty() || !seatOpt.get().isAvailable()) {
+        // Hold the seat right away so nobody else can take it while we ask for customer details
+        Optional<SeatHold> hold = session.hold(seatCode);
+        if (hold.isEmpty()) {
             System.out.println("Seat not available!");
             return;
         }
+        System.out.println("Seat " + seatCode + " is held for you for " + session.holdTtlSeconds() + " seconds.");
 
         // Collect customer information
+        System.out.print("Customer name (empty to cancel): ");
+        String customerName = scanner.nextLine();
+        if (customerName.isBlank()) {
+            session.releaseHold(seatCode);
+            System.out.println("Hold released.");
+            return;
+        }
+        System.out.print("Customer email: ");
+        String customerEmail = scanner.nextLine();
+        System.out.print("Customer phone: ");
+        String customerPhone = scanner.nextLine();
+
+        Optional<BookingConfirmation> booking = session.bookHeld(seatCode,
+                new Customer(customerName, customerEmail, customerPhone));
+        if (booking.isPresent()) {
+            System.out.printf("Seat booked successfully! Booking #%d, price $%.2f%n",
+                    booking.get().bookingId(), booking.get().totalPrice());
+        } else {
+            System.out.println("Failed to book seat - the hold has expired.");
+        }
+    }
+
+    private void processGroupBooking() {
+        System.out.println("\n=== Group Booking ===");
+        System.out.print("Enter seat codes (comma separated): ");
+        List<String> seatCodes = Arrays.stream(scanner.nextLine().split(","))
+                .map(code -> code.trim().toUpperCase())
+                .filter(code -> !code.isEmpty())
+                .distinct()
+                .toList();
+        if (seatCodes.isEmpty()) {
+            System.out.println("No seat codes entered!");
+            return;
+        }
+
         System.out.print("Customer name: ");
         String customerName = scanner.nextLine();
         System.out.print("Customer email: ");
@@ -788,68 +884,180 @@ public class TheaterManagementSystem {
         System.out.print("Customer phone: ");
         String customerPhone = scanner.nextLine();
 
-        boolean booked = theaterDAO.bookSeat(seatCode, currentTheaterId, customerName, customerEmail, customerPhone);
-        System.out.println(booked ? "Seat booked successfully!" : "Failed to book seat!");
+        // All seats or none
+        List<BookingConfirmation> bookings =
+                session.bookGroup(seatCodes, new Customer(customerName, customerEmail, customerPhone));
+        if (bookings.isEmpty()) {
+            System.out.println("Failed to book the group - at least one seat is not available. Nothing was booked.");
+            return;
+        }
+
+        double total = 0;
+        for (BookingConfirmation b : bookings) {
+            System.out.printf("  %s -> Booking #%d, $%.2f%n", b.seatCode(), b.bookingId(), b.totalPrice());
+            total += b.totalPrice();
+        }
+        System.out.printf("Booked %d seats, total $%.2f%n", bookings.size(), total);
     }
 
-    private void showAvailableSeats() {
-        System.out.println("\n=== All Available Seats ===");
-        List<Seat> seats = theaterDAO.getAllAvailableSeats(currentTheaterId);
-        if (seats.isEmpty()) {
-            System.out.println("No available seats.");
+    private void processBestSeatBooking() {
+        System.out.println("\n=== Best Available Seats ===");
+        System.out.print("Number of seats together: ");
+        int partySize = getIntInput();
+        if (partySize < 1) {
+            System.out.println("Invalid number of seats!");
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<BestSeatFinder.SeatBlock> blocks = session.findBestSeats(partySize, BestSeatFinder.Preferences.DEFAULT);
+        long micros = (System.nanoTime() - start) / 1_000;
+
+        if (blocks.isEmpty()) {
+            System.out.println("No section has " + partySize + " adjacent seats available.");
+            return;
+        }
+        System.out.println("Best block per section (found in " + micros + " µs):");
+        for (int i = 0; i < blocks.size(); i++) {
+            BestSeatFinder.SeatBlock b = blocks.get(i);
+            System.out.printf("%d. %s row %d: %s - $%.2f%n", i + 1, b.sectionName(), b.row(),
+                    String.join(", ", b.seatCodes()), b.totalPrice());
+        }
+
+        System.out.print("Choose a block to book (0 to cancel): ");
+        int choice = getIntInput();
+        if (choice < 1 || choice > blocks.size()) return;
+
+        System.out.print("Customer name: ");
+        String customerName = scanner.nextLine();
+        System.out.print("Customer email: ");
+        String customerEmail = scanner.nextLine();
+        System.out.print("Customer phone: ");
+        String customerPhone = scanner.nextLine();
+
+        List<BookingConfirmation> bookings = session.bookGroup(blocks.get(choice - 1).seatCodes(),
+                new Customer(customerName, customerEmail, customerPhone));
+        if (bookings.isEmpty()) {
+            System.out.println("Those seats were just taken - please search again.");
         } else {
-            seats.forEach(System.out::println);
-            System.out.println("Total available: " + seats.size());
+            System.out.printf("Booked %d seats together!%n", bookings.size());
         }
     }
 
+    private void showAvailableSeats() {
+        System.out.println("\n=== All Available Seats ===");
+        showSeats(SeatStatus.AVAILABLE, "No available seats.", "Total available: ");
+    }
+
     private void showBookedSeats() {
         System.out.println("\n=== All Booked Seats ===");
-        List<Seat> seats = theaterDAO.getAllBookedSeats(currentTheaterId);
-        if (seats.isEmpty()) {
-            System.out.println("No booked seats.");
+        showSeats(SeatStatus.RESERVED, "No booked seats.", "Total booked: ");
+    }
+
+    // Prints as the seats arrive; the row summary keeps large venues to one line per row
+    private void showSeats(SeatStatus status, String noneMessage, String totalLabel) {
+        System.out.print("1. Summary by row  2. Every seat  [1]: ");
+        boolean everySeat = scanner.nextLine().trim().equals("2");
+
+        int[] seats = new int[1];
+        int printed = everySeat
+                ? session.streamSeats(status, System.out::println)
+                : session.streamSeatRowSummaries(status, summary -> {
+                    System.out.println(summary);
+                    seats[0] += summary.seats();
+                });
+        if (printed == 0) {
+            System.out.println(noneMessage);
         } else {
-            seats.forEach(System.out::println);
-            System.out.println("Total booked: " + seats.size());
+            System.out.println(totalLabel + (everySeat ? printed : seats[0]));
         }
     }
 
     // 6. Reports & Statistics
     private void viewReportsAndStatistics() {
         System.out.println("\n========== REPORTS & STATISTICS ==========");
-        System.out.println("Theater: " + currentTheaterName);
+        System.out.println("Theater: " + session.theaterName());
+
+        TheaterStatistics theaterStats = session.statistics();
+
+        System.out.printf("Total seats   : %d%n", theaterStats.totalSeats());
+        System.out.printf("Available     : %d%n", theaterStats.availableSeats());
+        System.out.printf("Booked        : %d%n", theaterStats.bookedSeats());
+        System.out.printf("Total revenue : $%.2f%n", theaterStats.totalRevenue());
 
-        int total = theaterDAO.getTotalSeats(currentTheaterId);
-        int available = theaterDAO.getAvailableSeatsCount(currentTheaterId);
-        int booked = theaterDAO.getBookedSeatsCount(currentTheaterId);
-        double revenue = theaterDAO.getTotalRevenue(currentTheaterId);
+        if (theaterStats.totalSeats() > 0) {
+            System.out.printf("Occupancy rate: %.1f%%%n", theaterStats.occupancyRate() * 100);
+        }
+
+        System.out.println("\n--- Lookup cache ---");
+        lookupCache.stats().forEach((region, stats) -> System.out.printf(
+                "%-10s hits %d, misses %d (%.0f%% hit rate), evictions %d, %d cached%n",
+                region, stats.hits(), stats.misses(), stats.hitRate() * 100, stats.evictions(), stats.size()));
 
-        System.out.printf("Total seats   : %d%n", total);
-        System.out.printf("Available     : %d%n", available);
-        System.out.printf("Booked        : %d%n", booked);
-        System.out.printf("Total revenue : $%.2f%n", revenue);
+        System.out.println("\n--- SQL statements (since startup) ---");
+        SqlStatement.stats().stream().limit(15).forEach(stats -> System.out.printf(
+                "%-40s executed %d, prepared %d%n", stats.statement(), stats.executions(), stats.prepares()));
+    }
 
-        if (total > 0) {
-            double occupancyRate = (double) booked / total * 100;
-            System.out.printf("Occupancy rate: %.1f%%%n", occupancyRate);
+    // 10. System Statistics
+    private void viewSystemStatistics() {
+        System.out.println("\n========== SYSTEM STATISTICS ==========");
+        System.out.println("--- Connection pools ---");
+        for (PoolMetrics pool : DatabaseConfig.getPoolMetrics()) {
+            LatencyHistogram.Snapshot acquire = pool.acquireHistogram().snapshot();
+            System.out.printf("%s: %d active, %d idle, %d total, %d waiting, %d timeouts%n",
+                    pool.getPoolName(), pool.getActiveConnections(), pool.getIdleConnections(),
+                    pool.getTotalConnections(), pool.getThreadsAwaitingConnection(), pool.getConnectionTimeouts());
+            System.out.printf("  acquire: %d calls, mean %s, p50 %s, p99 %s, p99.9 %s, max %s%n",
+                    acquire.count(), millis(acquire.meanNanos()), millis(acquire.p50Nanos()),
+                    millis(acquire.p99Nanos()), millis(acquire.p999Nanos()), millis(acquire.maxNanos()));
+        }
+        if (DatabaseConfig.hasReadPool()) {
+            ConnectionRouter.Stats routing = ConnectionRouter.stats();
+            System.out.printf("Reads: %d on replica, %d on primary after a write or for a cache reload, "
+                            + "%d fell back to primary; writes: %d%n",
+                    routing.replicaReads(), routing.stickyReads(), routing.fallbacks(), routing.writes());
+        } else {
+            System.out.println("(no read pool configured; reads use " + DatabaseConfig.WRITE_POOL + ")");
         }
+        System.out.println("Also published over JMX as org.example:type=ConnectionPool and com.zaxxer.hikari:type=Pool.");
+    }
+
+    private void viewDaoLatency() {
+        System.out.println("\n========== DAO LATENCY ==========");
+        System.out.println("Database calls only; cache and in-memory inventory hits are not counted.");
+        System.out.println("Acq = waiting for a pooled connection, Qry = the rest of the call.");
+        DaoMetrics.dump(System.out);
+        System.out.println("Also published over JMX as org.example:type=DaoMethod.");
+
+        System.out.print("Reset counts and histograms? (y/N): ");
+        if ("y".equalsIgnoreCase(scanner.nextLine().trim())) {
+            DaoMetrics.reset();
+            System.out.println("DAO metrics reset.");
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f ms", nanos / 1_000_000.0);
     }
 
     // 7. Manage Bookings
     private void manageBookings() {
         while (true) {
             System.out.println("\n========== MANAGE BOOKINGS ==========");
-            System.out.println("Theater: " + currentTheaterName);
+            System.out.println("Theater: " + session.theaterName());
             System.out.println("1. View all bookings");
             System.out.println("2. Cancel booking");
-            System.out.println("3. Back to main menu");
+            System.out.println("3. Export bookings to CSV");
+            System.out.println("4. Back to main menu");
             System.out.print("Choose an option: ");
 
             int choice = getIntInput();
             switch (choice) {
                 case 1 -> viewAllBookings();
                 case 2 -> cancelBooking();
-                case 3 -> { return; }
+                case 3 -> exportBookings();
+                case 4 -> { return; }
                 default -> System.out.println("Invalid choice!");
             }
         }
@@ -857,21 +1065,69 @@ public class TheaterManagementSystem {
 
     private void viewAllBookings() {
         System.out.println("\n=== All Bookings ===");
-        List<Booking> bookings = theaterDAO.getAllBookings(currentTheaterId);
-        if (bookings.isEmpty()) {
+        BookingPage page = session.bookingsPage(null, BOOKINGS_PAGE_SIZE);
+        if (page.bookings().isEmpty()) {
             System.out.println("No bookings found.");
-        } else {
-            bookings.forEach(System.out::println);
-            System.out.println("Total bookings: " + bookings.size());
+            return;
+        }
+
+        int shown = 0;
+        while (true) {
+            page.bookings().forEach(System.out::println);
+            shown += page.bookings().size();
+            if (!page.hasNext()) break;
+
+            System.out.print("-- " + shown + " shown. Enter for more, q to stop: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) return;
+            page = session.bookingsPage(page.next(), BOOKINGS_PAGE_SIZE);
+        }
+        System.out.println("Total bookings: " + shown);
+    }
+
+    private void exportBookings() {
+        System.out.print("Export file (e.g. bookings.csv): ");
+        String fileName = scanner.nextLine().trim();
+        if (fileName.isEmpty()) return;
+
+        try (BufferedWriter out = Files.newBufferedWriter(Path.of(fileName))) {
+            out.write("id,seat_code,customer_name,customer_email,customer_phone,booking_time,total_price,status");
+            out.newLine();
+            int exported = session.streamBookings(booking -> {
+                try {
+                    out.write(String.join(",",
+                            String.valueOf(booking.getId()),
+                            csv(booking.getSeatCode()),
+                            csv(booking.getCustomerName()),
+                            csv(booking.getCustomerEmail()),
+                            csv(booking.getCustomerPhone()),
+                            String.valueOf(booking.getBookingTime()),
+                            String.format(Locale.ROOT, "%.2f", booking.getTotalPrice()),
+                            csv(booking.getStatus())));
+                    out.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            System.out.println("Exported " + exported + " bookings to " + fileName);
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Export failed: " + e.getMessage());
         }
     }
 
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
     private void cancelBooking() {
         viewAllBookings();
         System.out.print("Enter booking ID to cancel: ");
         int bookingId = getIntInput();
 
-        boolean success = theaterDAO.cancelBooking(bookingId, currentTheaterId);
+        boolean success = session.cancelBooking(bookingId);
         System.out.println(success ? "Booking cancelled." : "Failed to cancel booking!");
     }
 
@@ -895,16 +1151,6 @@ public class TheaterManagementSystem {
         }
     }
 
-    record ImportStats(int created, int skipped, int errors) {
-        static ImportStats combine(ImportStats a, ImportStats b) {
-            return new ImportStats(
-                    a.created  + b.created,
-                    a.skipped  + b.skipped,
-                    a.errors   + b.errors
-            );
-        }
-    }
-
     private void importBookings() {
         System.out.print("Enter file path, comma list, or directory: ");
         String input = scanner.nextLine().trim();
@@ -921,15 +1167,72 @@ public class TheaterManagementSystem {
             return;
         }
 
-        ImportStats total = files
-                .parallelStream()
-                .map(this::importSingleBookingFile)
-                .reduce(new ImportStats(0, 0, 0), ImportStats::combine);
+        System.out.println("Import mode:");
+        System.out.println("1. Row by row");
+        System.out.println("2. Batched (multi-row claims, JDBC batches) [default]");
+        System.out.println("3. Parallel pipeline (one file at a time, parallel DB writers)");
+        System.out.print("Choose a mode: ");
+        String mode = scanner.nextLine().trim();
+
+        long started = System.nanoTime();
+        ImportStats total;
+        if ("3".equals(mode)) {
+            // Leave one connection for the parser side and the rest of the application
+            int maxWriters = Math.max(1, DatabaseConfig.getMaximumPoolSize() - 1);
+            System.out.print("Writer threads (1-" + maxWriters + ", Enter for " + maxWriters + "): ");
+            String writersInput = scanner.nextLine().trim();
+            int writers = writersInput.matches("\\d+")
+                    ? Math.max(1, Math.min(Integer.parseInt(writersInput), maxWriters))
+                    : maxWriters;
+
+            total = ImportStats.EMPTY;
+            for (Path file : files) {
+                total = ImportStats.combine(total, importBookingFileWithPipeline(file, writers));
+            }
+        } else {
+            boolean batched = !"1".equals(mode);
+            int bulkThreshold = bulkLoadThreshold();
+            total = files
+                    .parallelStream()
+                    .map(file -> importSingleBookingFile(file, batched, bulkThreshold))
+                    .reduce(ImportStats.EMPTY, ImportStats::combine);
+        }
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        // Imports claim seats directly in the database
+        seatInventory.invalidate(session.theaterId());
 
         System.out.printf(
-                "Booking import complete: %d created, %d skipped, %d file errors%n",
+                "Booking import complete: %d created, %d skipped, %d errors%n",
                 total.created(), total.skipped(), total.errors()
         );
+        int processed = total.created() + total.skipped() + total.errors();
+        if (seconds > 0) {
+            System.out.printf("Processed %d rows in %.2fs (%.0f rows/sec)%n", processed, seconds, processed / seconds);
+        }
+    }
+
+    private static <T> Iterator<T> concat(Iterator<T> first, Iterator<T> second) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return first.hasNext() || second.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return first.hasNext() ? first.next() : second.next();
+            }
+        };
+    }
+
+    private int bulkLoadThreshold() {
+        return theaterDAO.getConfigByKey(CopyBulkLoader.THRESHOLD_CONFIG_KEY, session.theaterId())
+                .map(TheaterConfig::getConfigValue)
+                .map(String::trim)
+                .filter(v -> v.matches("\\d+"))
+                .map(Integer::parseInt)
+                .orElse(CopyBulkLoader.DEFAULT_ROW_THRESHOLD);
     }
 
     private List<Path> resolveImportPaths(String input) throws Exception {
@@ -958,76 +1261,69 @@ public class TheaterManagementSystem {
         return List.of(p);
     }
 
-    private ImportStats importSingleBookingFile(Path file) {
-        int created = 0, skipped = 0, errors = 0;
-
-        try {
-            String lower = file.toString().toLowerCase();
-            UploadFileBookings parser;
-            if (lower.endsWith(".csv")) {
-                parser = new BookingCsvFile();
-            } else if (lower.endsWith(".json")) {
-                parser = new BookingJsonFile();
-            } else {
-                parser = new BookingTxtFile();
-            }
+    private UploadFileBookings bookingParserFor(Path file) {
+        String lower = file.toString().toLowerCase();
+        if (lower.endsWith(".csv")) {
+            return new BookingCsvFile();
+        } else if (lower.endsWith(".json")) {
+            return new BookingJsonFile();
+        } else {
+            return new BookingTxtFile();
+        }
+    }
 
-            List<BookingRow> rows = parser.parse(file.toString());
-
-            try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-                 PreparedStatement claim = conn.prepareStatement(SQL_CLAIM_SEAT);
-                 PreparedStatement priceQ = conn.prepareStatement(SQL_SEAT_TYPE_PRICE);
-                 PreparedStatement ins = conn.prepareStatement(SQL_INSERT_BOOKING)) {
-
-                conn.setAutoCommit(false);
-
-                for (BookingRow r : rows) {
-                    try {
-                        // 1) Claim seat atomically (now with theater ID)
-                        claim.setString(1, r.seatCode());
-                        claim.setInt(2, currentTheaterId);
-                        ResultSet rs = claim.executeQuery();
-                        if (!rs.next()) {        // seat already reserved or not found
-                            skipped++;
-                            conn.rollback();
-                            continue;
-                        }
+    private ImportStats importBookingFileWithPipeline(Path file, int writers) {
+        TheaterInventory inventory = seatInventory.inventory(session.theaterId());
+        BookingImportPipeline pipeline = new BookingImportPipeline(
+                DatabaseConfig.getDataSource(),
+                session.theaterId(),
+                writers,
+                // Partition by section so writers never touch the same seat rows
+                seatCode -> {
+                    int sectionId = inventory.sectionIdOf(seatCode);
+                    return sectionId >= 0 ? sectionId : seatCode.hashCode();
+                });
+
+        try (Stream<BookingRow> rows = bookingParserFor(file).stream(file.toString())) {
+            return pipeline.run(rows.iterator());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ImportStats(0, 0, 1);
+        } catch (Exception e) {
+            System.err.println("Failed to import " + file + ": " + e.getMessage());
+            return new ImportStats(0, 0, 1);
+        }
+    }
 
-                        int seatId     = rs.getInt("id");
-                        int seatTypeId = rs.getInt("seat_type_id");
-
-                        // 2) Determine price (override > look-up)
-                        double price = r.priceOverride();
-                        if (price == 0.0) {
-                            priceQ.setInt(1, seatTypeId);
-                            priceQ.setInt(2, currentTheaterId);
-                            try (ResultSet pr = priceQ.executeQuery()) {
-                                if (pr.next()) price = pr.getDouble(1);
-                            }
-                        }
+    private ImportStats importSingleBookingFile(Path file, boolean batched, int bulkThreshold) {
+        try {
+            UploadFileBookings parser = bookingParserFor(file);
+            BookingImporter importer = new BookingImporter(session.theaterId());
 
-                        // 3) Insert booking
-                        ins.setInt   (1, seatId);
-                        ins.setString(2, r.customerName());
-                        ins.setString(3, r.customerEmail());
-                        ins.setString(4, r.customerPhone());
-                        ins.setDouble(5, price);
-                        ins.executeUpdate();
+            // Rows are parsed while they are written; only up to the COPY threshold is buffered
+            try (Stream<BookingRow> stream = parser.stream(file.toString());
+                 Connection conn = DatabaseConfig.getDataSource().getConnection()) {
 
-                        conn.commit();
-                        created++;
+                Iterator<BookingRow> rows = stream.iterator();
+                List<BookingRow> head = new ArrayList<>();
+                while (head.size() <= bulkThreshold && rows.hasNext()) {
+                    head.add(rows.next());
+                }
 
-                    } catch (SQLException ex) {
-                        conn.rollback();
-                        errors++;
-                    }
+                if (head.size() > bulkThreshold) {
+                    System.out.println(file.getFileName() + ": more than " + bulkThreshold + " rows, using COPY bulk load");
+                    return new CopyBulkLoader(session.theaterId()).loadBookings(conn, concat(head.iterator(), rows));
                 }
+                return batched
+                        ? importer.importBatched(conn, head)
+                        : importer.importRowByRow(conn, head);
             }
         } catch (Exception e) {
-            errors++;
+            System.err.println("Failed to import " + file + ": " + e.getMessage());
+            return new ImportStats(0, 0, 1);
         }
-        return new ImportStats(created, skipped, errors);
     }
+
     private void importTheaterLayout() {
         System.out.print("Enter layout CSV/JSON file path: ");
         String path = scanner.nextLine().trim();
@@ -1040,12 +1336,11 @@ public class TheaterManagementSystem {
         int createdTheaters   = 0;
         int createdSeatTypes  = 0;
         int createdSections   = 0;
+        // theater id -> section name -> aisle layout of its rows
+        Map<Integer, Map<String, SectionLayout>> layouts = new LinkedHashMap<>();
 
-        try {
-            List<TheaterLayoutRow> rows = parser.parse(path);
-            System.out.println("=== PARSED " + rows.size() + " LAYOUT ENTRIES ===");
-
-            for (TheaterLayoutRow r : rows) {
+        try (Stream<TheaterLayoutRow> rows = parser.stream(path)) {
+            for (TheaterLayoutRow r : (Iterable<TheaterLayoutRow>) rows::iterator) {
                 // ——— 1) Theater ———
                 Optional<Theater> thOpt = theaterDAO.getTheaterByName(r.theaterName());
                 int theaterId;
@@ -1093,13 +1388,27 @@ public class TheaterManagementSystem {
                     System.out.println("➕ Created section: " + r.sectionName()
                             + " in theater ID " + theaterId);
                 }
+
+                // ——— 4) Aisles ———
+                if (r.hasGaps()) {
+                    layouts.computeIfAbsent(theaterId, k -> new LinkedHashMap<>())
+                            .merge(r.sectionName(),
+                                    SectionLayout.NO_AISLES.withRow(r.rowNumber(), r.seatsConfiguration()),
+                                    (a, b) -> a.withRow(r.rowNumber(), r.seatsConfiguration()));
+                }
             }
 
+            layouts.forEach((theaterId, sections) -> sections.forEach((sectionName, layout) ->
+                    theaterDAO.saveConfig(SectionLayout.configKey(sectionName), layout.format(),
+                            "Aisle layout of section " + sectionName, theaterId)));
+
             // ——— Final summary ———
             System.out.println("\n=== IMPORT SUMMARY ===");
             System.out.printf("Theaters created   : %d%n", createdTheaters);
             System.out.printf("Seat-types created : %d%n", createdSeatTypes);
             System.out.printf("Sections created   : %d%n", createdSections);
+            System.out.printf("Aisle layouts saved: %d%n",
+                    layouts.values().stream().mapToInt(Map::size).sum());
 
         } catch (Exception ex) {
             System.err.println("Failed to import layout: " + ex.getMessage());
@@ -1155,7 +1464,7 @@ public class TheaterManagementSystem {
                     Theater theater = theaterOpt.get();
 
                     // Check if seat type exists
-                    Optional<SeatType> seatTypeOpt = theaterDAO.getSeatTypeByName(seatTypeName, theaterId);
+                    Optional<SeatType> seatTypeOpt = theaterDAO.getSeatTypeByName(seatTypeName, theater.getId());
                     if (seatTypeOpt.isEmpty()) {
                         System.out.println("  ❌ SEAT TYPE NOT FOUND: '" + seatTypeName + "'");
 
@@ -1230,7 +1539,7 @@ public class TheaterManagementSystem {
                     Theater theater = theaterOpt.get();
 
                     // Validate seat type exists
-                    Optional<SeatType> seatTypeOpt = theaterDAO.getSeatTypeByName(seatTypeName, theaterId);
+                    Optional<SeatType> seatTypeOpt = theaterDAO.getSeatTypeByName(seatTypeName, theater.getId());
                     if (seatTypeOpt.isEmpty()) {
                         System.err.println("Line " + lineNumber + ": Seat type not found: '" + seatTypeName + "'");
                         errorCount++;
@@ -0,0 +1,326 @@
+package org.example.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.model.*;
+import org.example.service.BookingService;
+import org.example.service.BookingSession;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * JSON API over the same BookingService as the console, on the JDK's built-in HTTP server.
+ *
+ *   GET    /api/theaters
+ *   GET    /api/theaters/{id}
+ *   GET    /api/theaters/{id}/sections
+ *   GET    /api/theaters/{id}/statistics
+ *   GET    /api/theaters/{id}/seats?status=AVAILABLE        every matching seat, streamed
+ *   GET    /api/theaters/{id}/seat-map?status=AVAILABLE     one entry per row, streamed
+ *   POST   /api/theaters/{id}/bookings                      {"seatCode", "customerName", "customerEmail", "customerPhone"}
+ *   DELETE /api/theaters/{id}/bookings/{bookingId}
+ *   POST   /api/theaters/{id}/holds                         {"seatCode"}; needs a session
+ *   POST   /api/theaters/{id}/holds/{seatCode}/booking      {"customerName", "customerEmail", "customerPhone"}
+ *   DELETE /api/theaters/{id}/holds/{seatCode}
+ *   DELETE /api/sessions/{sessionId}                        releases the session's holds
+ *
+ * A client that sends an X-Booking-Session header gets a session of that id, which keeps its
+ * holds and its read-your-writes routing between requests; other requests get a session of
+ * their own. Every request runs through {@link BookingService#submit} on its own virtual
+ * thread, so a request waiting for a pooled connection does not hold a platform thread. Seat
+ * lists are written straight from the DAO's cursor into the chunked response, so memory stays
+ * flat however large the theater is.
+ */
+public class BookingApiServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 8080;
+    public static final String SESSION_HEADER = "X-Booking-Session";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // One flush per response, not one per streamed element
+    private static final ObjectWriter ELEMENT_WRITER = MAPPER.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private static final int STREAM_BUFFER_BYTES = 32 * 1024;
+
+    private final BookingService bookingService;
+    private final HttpServer server;
+
+    /** Thrown by handlers to answer with an error status and message. */
+    private static final class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * @param port 0 picks a free port; see {@link #port()}
+     */
+    public BookingApiServer(BookingService bookingService, int port, int backlog) {
+        this.bookingService = bookingService;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(port), backlog);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error starting HTTP server on port " + port, e);
+        }
+        // No executor of its own: the dispatcher hands every exchange to the booking service
+        server.createContext("/api/", this::handle);
+    }
+
+    public BookingApiServer start() {
+        server.start();
+        return this;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) {
+        String sessionId = exchange.getRequestHeaders().getFirst(SESSION_HEADER);
+        BookingSession session = sessionId == null || sessionId.isBlank()
+                ? bookingService.requestSession()
+                : bookingService.sessionFor(sessionId.trim());
+        try {
+            bookingService.submit(session, s -> {
+                respond(exchange, s, sessionId != null && !sessionId.isBlank());
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            exchange.close();   // shutting down
+        }
+    }
+
+    private void respond(HttpExchange exchange, BookingSession session, boolean named) {
+        try (exchange) {
+            try {
+                route(exchange, session, named);
+            } catch (ApiException e) {
+                sendError(exchange, e.status, e.getMessage());
+            } catch (RuntimeException e) {
+                System.err.println("API request " + exchange.getRequestURI() + " failed: " + e.getMessage());
+                sendError(exchange, 500, "Internal error");
+            }
+        } catch (IOException e) {
+            // The client went away; nothing left to answer
+        }
+    }
+
+    private void route(HttpExchange exchange, BookingSession session, boolean named) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+
+        if ("sessions".equals(path[0]) && path.length == 2) {
+            requireMethod(method, "DELETE");
+            BookingSession closing = bookingService.session(path[1])
+                    .orElseThrow(() -> new ApiException(404, "Session not found"));
+            closing.close();
+            exchange.sendResponseHeaders(204, -1);
+            return;
+        }
+        if (!"theaters".equals(path[0])) throw new ApiException(404, "Not found");
+        if (path.length == 1) {
+            requireMethod(method, "GET");
+            sendJson(exchange, 200, session.theaters());
+            return;
+        }
+
+        if (!session.selectTheater(parseId(path[1]))) throw new ApiException(404, "Theater not found");
+        String resource = path.length > 2 ? path[2] : "";
+        switch (resource) {
+            case "" -> {
+                requireMethod(method, "GET");
+                sendJson(exchange, 200, session.theater()
+                        .orElseThrow(() -> new ApiException(404, "Theater not found")));
+            }
+            case "sections" -> {
+                requireMethod(method, "GET");
+                sendJson(exchange, 200, session.sections());
+            }
+            case "statistics" -> {
+                requireMethod(method, "GET");
+                sendJson(exchange, 200, session.statistics());
+            }
+            case "seats" -> {
+                requireMethod(method, "GET");
+                SeatStatus status = statusParameter(exchange);
+                streamJsonArray(exchange, (Consumer<Seat> sink) -> session.streamSeats(status, sink));
+            }
+            case "seat-map" -> {
+                requireMethod(method, "GET");
+                SeatStatus status = statusParameter(exchange);
+                streamJsonArray(exchange,
+                        (Consumer<SeatRowSummary> sink) -> session.streamSeatRowSummaries(status, sink));
+            }
+            case "bookings" -> {
+                if (path.length == 3) {
+                    requireMethod(method, "POST");
+                    createBooking(exchange, session);
+                } else {
+                    requireMethod(method, "DELETE");
+                    if (!session.cancelBooking(parseId(path[3]))) {
+                        throw new ApiException(404, "Booking not found");
+                    }
+                    exchange.sendResponseHeaders(204, -1);
+                }
+            }
+            case "holds" -> {
+                // A hold outlives the request, so it needs a session the client can come back with
+                if (!named) throw new ApiException(400, "Holds need an " + SESSION_HEADER + " header");
+                if (path.length == 3) {
+                    requireMethod(method, "POST");
+                    holdSeat(exchange, session);
+                } else if (path.length == 5 && "booking".equals(path[4])) {
+                    requireMethod(method, "POST");
+                    bookHeldSeat(exchange, session, path[3].toUpperCase());
+                } else {
+                    requireMethod(method, "DELETE");
+                    if (!session.releaseHold(path[3].toUpperCase())) {
+                        throw new ApiException(404, "Hold not found");
+                    }
+                    exchange.sendResponseHeaders(204, -1);
+                }
+            }
+            default -> throw new ApiException(404, "Not found");
+        }
+    }
+
+    private void createBooking(HttpExchange exchange, BookingSession session) throws IOException {
+        JsonNode body = readBody(exchange);
+        String seatCode = text(body, "seatCode");
+        Customer customer = customer(body);
+        if (seatCode.isBlank() || customer.name().isBlank()) {
+            throw new ApiException(400, "seatCode and customerName are required");
+        }
+
+        Optional<BookingConfirmation> booking = session.book(seatCode.toUpperCase(), customer);
+        if (booking.isEmpty()) {
+            throw new ApiException(409, "Seat " + seatCode + " is not available");
+        }
+        sendJson(exchange, 201, booking.get());
+    }
+
+    private void holdSeat(HttpExchange exchange, BookingSession session) throws IOException {
+        String seatCode = text(readBody(exchange), "seatCode");
+        if (seatCode.isBlank()) throw new ApiException(400, "seatCode is required");
+
+        Optional<SeatHold> hold = session.hold(seatCode.toUpperCase());
+        if (hold.isEmpty()) {
+            throw new ApiException(409, "Seat " + seatCode + " is not available");
+        }
+        sendJson(exchange, 201, hold.get());
+    }
+
+    private void bookHeldSeat(HttpExchange exchange, BookingSession session, String seatCode) throws IOException {
+        Customer customer = customer(readBody(exchange));
+        if (customer.name().isBlank()) throw new ApiException(400, "customerName is required");
+
+        Optional<BookingConfirmation> booking = session.bookHeld(seatCode, customer);
+        if (booking.isEmpty()) {
+            throw new ApiException(409, "No unexpired hold on seat " + seatCode + " in this session");
+        }
+        sendJson(exchange, 201, booking.get());
+    }
+
+    private static JsonNode readBody(HttpExchange exchange) {
+        try (InputStream in = exchange.getRequestBody()) {
+            return MAPPER.readTree(in);
+        } catch (IOException e) {
+            throw new ApiException(400, "Malformed JSON body");
+        }
+    }
+
+    private static Customer customer(JsonNode body) {
+        return new Customer(text(body, "customerName"), text(body, "customerEmail"), text(body, "customerPhone"));
+    }
+
+    private static String text(JsonNode body, String field) {
+        return body != null && body.hasNonNull(field) ? body.get(field).asText() : "";
+    }
+
+    private static int parseId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Invalid id: " + value);
+        }
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!expected.equals(method)) throw new ApiException(405, "Method not allowed");
+    }
+
+    private static SeatStatus statusParameter(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getRawQuery();
+        String value = "AVAILABLE";
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                if (pair.startsWith("status=")) value = pair.substring("status=".length()).toUpperCase();
+            }
+        }
+        try {
+            return SeatStatus.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "Unknown seat status: " + value);
+        }
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, Object value) throws IOException {
+        byte[] body = MAPPER.writeValueAsBytes(value);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        if (exchange.getResponseCode() != -1) return;   // headers already sent, e.g. mid-stream
+        sendJson(exchange, status, Map.of("error", message));
+    }
+
+    /**
+     * Writes the elements a DAO stream produces as one JSON array with chunked encoding. A failure
+     * after the headers have gone out can only be signalled by leaving the array unclosed, so the
+     * client sees invalid JSON rather than a truncated list that looks complete.
+     */
+    private static <T> void streamJsonArray(HttpExchange exchange, Consumer<Consumer<T>> producer) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = new BufferedOutputStream(exchange.getResponseBody(), STREAM_BUFFER_BYTES);
+             JsonGenerator json = MAPPER.getFactory().createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+            json.writeStartArray();
+            producer.accept(element -> {
+                try {
+                    ELEMENT_WRITER.writeValue(json, element);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);   // client went away; ends the DAO's cursor loop
+                }
+            });
+            json.writeEndArray();
+        }
+    }
+
+    /** Stops accepting connections; running requests finish when the booking service is closed. */
+    @Override
+    public void close() {
+        server.stop(1);
+    }
+}
@@ -2,31 +2,40 @@ package org.example.config;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import org.example.metrics.PoolMetrics;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Connection pools, configured from {@link Settings} (database.properties, an optional
+ * external file, environment variables and system properties).
+ *
+ * There is always a write pool. A separate read pool is created when read.db.url is set;
+ * otherwise {@link #getReadDataSource()} returns the write pool. Each pool publishes its
+ * gauges and acquisition histogram through {@link PoolMetrics} and JMX.
+ */
 public class DatabaseConfig {
-    private static final String DB_URL = "jdbc:postgresql://localhost:5432/theater_booking";
-    private static final String DB_USERNAME = "postgres";
-    private static final String DB_PASSWORD = "AhmadSajidSura2003";
+    public static final String WRITE_POOL = "theater-write";
+    public static final String READ_POOL = "theater-read";
+
+    private static final Settings settings = Settings.load();
 
     private static HikariDataSource dataSource;
+    private static HikariDataSource readDataSource;
+    private static final List<PoolMetrics> poolMetrics = new ArrayList<>();
 
     static {
         {
             try {
-                HikariConfig config = new HikariConfig();
-                config.setJdbcUrl(DB_URL);
-                config.setUsername(DB_USERNAME);
-                config.setPassword(DB_PASSWORD);
-                config.setMaximumPoolSize(10);
-                config.setMinimumIdle(2);
-                config.setConnectionTimeout(30000);
-                config.setIdleTimeout(600000);
-                config.setMaxLifetime(1800000);
-                config.setAutoCommit(false);
-
-                dataSource = new HikariDataSource(config);
+                dataSource = createPool(WRITE_POOL, "", false);
+                if (settings.get("read.db.url") != null) {
+                    readDataSource = createPool(READ_POOL, "read.", true);
+                }
                 System.out.println("Database connection pool initialized successfully");
             } catch (Exception e)
             {
@@ -37,14 +46,88 @@ public class DatabaseConfig {
 
     }
 
+    private static HikariDataSource createPool(String poolName, String prefix, boolean readOnly) {
+        Settings pool = settings.withPrefix(prefix);
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(pool.get("db.url"));
+        config.setUsername(pool.get("db.username"));
+        config.setPassword(pool.get("db.password"));
+        config.setMaximumPoolSize(pool.getInt("pool.maximumSize", Runtime.getRuntime().availableProcessors() * 2 + 1));
+        config.setMinimumIdle(pool.getInt("pool.minimumIdle", 2));
+        // A read that times out on the replica still falls back to the primary, so the read pool
+        // fails fast and does not inherit the write pool's timeout
+        config.setConnectionTimeout(readOnly
+                ? settings.getLong(prefix + "pool.connectionTimeoutMs", 2000)
+                : pool.getLong("pool.connectionTimeoutMs", 30000));
+        config.setIdleTimeout(pool.getLong("pool.idleTimeoutMs", 600000));
+        config.setMaxLifetime(pool.getLong("pool.maxLifetimeMs", 1800000));
+        config.setAutoCommit(false);
+        config.setReadOnly(readOnly);
+        // Let the driver collapse executeBatch() of INSERTs into multi-row statements
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
+        // Switch a statement to a named server-side prepared statement after a few executions
+        // on a connection, and keep enough of them per connection for every SqlStatement
+        config.addDataSourceProperty("prepareThreshold", String.valueOf(pool.getInt("jdbc.prepareThreshold", 2)));
+        config.addDataSourceProperty("preparedStatementCacheQueries",
+                String.valueOf(pool.getInt("jdbc.preparedStatementCacheQueries", 512)));
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB",
+                String.valueOf(pool.getInt("jdbc.preparedStatementCacheSizeMiB", 8)));
+
+        // Hikari's own pool MBeans, plus ours with the acquisition histogram
+        config.setRegisterMbeans(true);
+        PoolMetrics metrics = new PoolMetrics(poolName);
+        config.setMetricsTrackerFactory((name, stats) -> metrics);
+
+        HikariDataSource dataSource = new HikariDataSource(config);
+        metrics.attach(dataSource.getHikariPoolMXBean());
+        metrics.registerMBean();
+        poolMetrics.add(metrics);
+        return dataSource;
+    }
+
     public static DataSource getDataSource() {
         return dataSource;
     }
 
+    /** The read pool if one is configured, otherwise the write pool. */
+    public static DataSource getReadDataSource() {
+        return readDataSource != null ? readDataSource : dataSource;
+    }
+
+    public static boolean hasReadPool() {
+        return readDataSource != null;
+    }
+
+    public static List<PoolMetrics> getPoolMetrics() {
+        return List.copyOf(poolMetrics);
+    }
+
+    public static Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * A connection outside the pool, for long-lived sessions such as LISTEN
+     * that would otherwise hold a pooled connection forever. Auto-commit is on.
+     */
+    public static Connection openDedicatedConnection() throws SQLException {
+        return DriverManager.getConnection(settings.get("db.url"), settings.get("db.username"),
+                settings.get("db.password"));
+    }
+
+    public static int getMaximumPoolSize() {
+        return dataSource.getMaximumPoolSize();
+    }
+
     public static void closeDataSource() {
+        if (readDataSource != null) {
+            readDataSource.close();
+        }
         if (dataSource != null) {
             dataSource.close();
             System.out.println("Database connection pool closed");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package org.example.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.List;
+
+/**
+ * Applies the SQL scripts under src/main/resources/db in order, once each.
+ * Applied scripts are recorded in schema_migrations; scripts are also written
+ * to be safe to re-run against a database that was changed by hand.
+ */
+public class SchemaMigrations {
+    // Append new scripts at the end; never rename or reorder applied ones
+    private static final List<String> SCRIPTS = List.of(
+            "001_seat_holds.sql",
+            "002_change_notifications.sql",
+            "003_theater_stats.sql",
+            "004_booking_time_index.sql",
+            "005_fix_seat_notify.sql"
+    );
+
+    private static final String SQL_CREATE_TABLE = """
+        CREATE TABLE IF NOT EXISTS schema_migrations (
+          name       text PRIMARY KEY,
+          applied_at timestamptz NOT NULL DEFAULT CURRENT_TIMESTAMP
+        )
+        """;
+
+    public static void apply() {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(SQL_CREATE_TABLE);
+            }
+            conn.commit();
+
+            for (String script : SCRIPTS) {
+                if (isApplied(conn, script)) continue;
+
+                try (Statement stmt = conn.createStatement();
+                     PreparedStatement record = conn.prepareStatement(
+                             "INSERT INTO schema_migrations (name) VALUES (?)")) {
+                    stmt.execute(read(script));
+                    record.setString(1, script);
+                    record.executeUpdate();
+                    conn.commit();
+                    System.out.println("Applied database migration " + script);
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Error applying database migrations", e);
+        }
+    }
+
+    private static boolean isApplied(Connection conn, String script) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM schema_migrations WHERE name = ?")) {
+            stmt.setString(1, script);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static String read(String script) throws IOException {
+        try (InputStream in = SchemaMigrations.class.getResourceAsStream("/db/" + script)) {
+            if (in == null) throw new IOException("Missing migration script db/" + script);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
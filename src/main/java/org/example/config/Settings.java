@@ -0,0 +1,105 @@
+package org.example.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Layered application settings. Later sources override earlier ones:
+ * <ol>
+ *   <li>database.properties on the classpath (the defaults shipped with the application)</li>
+ *   <li>the file named by the theater.config system property or THEATER_CONFIG environment variable</li>
+ *   <li>environment variables: THEATER_ plus the key upper-cased with dots as underscores,
+ *       e.g. THEATER_DB_URL for db.url</li>
+ *   <li>system properties: theater. plus the key, e.g. -Dtheater.pool.maximumSize=20</li>
+ * </ol>
+ */
+public final class Settings {
+    public static final String DEFAULTS_RESOURCE = "/database.properties";
+
+    private final Properties files;
+    private final Map<String, String> environment;
+    private final Properties systemProperties;
+    private final String prefix;
+
+    private Settings(Properties files, Map<String, String> environment, Properties systemProperties, String prefix) {
+        this.files = files;
+        this.environment = environment;
+        this.systemProperties = systemProperties;
+        this.prefix = prefix;
+    }
+
+    public static Settings load() {
+        Settings settings = new Settings(new Properties(), System.getenv(), System.getProperties(), "");
+        try (InputStream in = Settings.class.getResourceAsStream(DEFAULTS_RESOURCE)) {
+            if (in != null) settings.files.load(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading " + DEFAULTS_RESOURCE, e);
+        }
+
+        String external = System.getProperty("theater.config", System.getenv("THEATER_CONFIG"));
+        if (external != null && !external.isBlank()) {
+            try (Reader in = Files.newBufferedReader(Path.of(external))) {
+                settings.files.load(in);
+            } catch (IOException e) {
+                throw new RuntimeException("Error reading configuration file " + external, e);
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * A view in which every key is first looked up with the prefix, e.g. "read." for the
+     * read pool, falling back to the unprefixed key.
+     */
+    public Settings withPrefix(String prefix) {
+        return new Settings(files, environment, systemProperties, prefix);
+    }
+
+    /** The value of key, or null if no source sets it. */
+    public String get(String key) {
+        String value = prefix.isEmpty() ? null : lookup(prefix + key);
+        return value != null ? value : lookup(key);
+    }
+
+    private String lookup(String key) {
+        String value = systemProperties.getProperty("theater." + key);
+        if (value == null) {
+            value = environment.get("THEATER_" + key.toUpperCase(Locale.ROOT).replace('.', '_'));
+        }
+        if (value == null) {
+            value = files.getProperty(key);
+        }
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    public String get(String key, String defaultValue) {
+        String value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = get(key);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Setting " + key + " must be a whole number, was: " + value, e);
+        }
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = get(key);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Setting " + key + " must be a whole number, was: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package org.example.dao;
+
+import org.example.cache.CacheStats;
+import org.example.cache.TtlCache;
+import org.example.config.TheaterConfig;
+import org.example.model.*;
+import org.example.notify.ChangeEvent;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * TheaterDAO that caches the rarely changing lookups - theaters, seat types, sections
+ * and theater configuration - in front of the wrapped DAO. Each of these has its own
+ * bounded cache and TTL; writes through this DAO drop what they affect right away.
+ * Seats, bookings and statistics are always passed through, except the cross-theater
+ * occupancy report, which is kept for a few seconds and otherwise left to expire.
+ *
+ * Misses are cached too, so repeated lookups of a missing name (as in imports) cost one query.
+ */
+public class CachingTheaterDAO implements TheaterDAO {
+
+    public enum Region { THEATERS, SEAT_TYPES, SECTIONS, CONFIG, REPORTS }
+
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final Map<Region, Duration> DEFAULT_TTL = Map.of(
+            Region.THEATERS,   Duration.ofMinutes(10),
+            Region.SEAT_TYPES, Duration.ofMinutes(5),
+            Region.SECTIONS,   Duration.ofMinutes(5),
+            Region.CONFIG,     Duration.ofSeconds(30),
+            Region.REPORTS,    Duration.ofSeconds(15)
+    );
+
+    /** For nodes that receive change notifications, where the TTL is only a safety net. */
+    public static final Map<Region, Duration> NOTIFIED_TTL = Map.of(
+            Region.THEATERS,   Duration.ofHours(1),
+            Region.SEAT_TYPES, Duration.ofHours(1),
+            Region.SECTIONS,   Duration.ofHours(1),
+            Region.CONFIG,     Duration.ofMinutes(10),
+            Region.REPORTS,    Duration.ofSeconds(15)   // seat changes do not invalidate it
+    );
+
+    /** theaterId is 0 for lookups that are not scoped to one theater. */
+    private record Key(String query, int theaterId, Object arg) {}
+
+    private final TheaterDAO delegate;
+    private final Map<Region, TtlCache<Key, Object>> caches = new EnumMap<>(Region.class);
+
+    public CachingTheaterDAO(TheaterDAO delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES, DEFAULT_TTL);
+    }
+
+    public CachingTheaterDAO(TheaterDAO delegate, int maxEntriesPerRegion, Map<Region, Duration> ttl) {
+        this.delegate = delegate;
+        for (Region region : Region.values()) {
+            caches.put(region, new TtlCache<>(maxEntriesPerRegion, ttl.getOrDefault(region, DEFAULT_TTL.get(region))));
+        }
+    }
+
+    public Map<Region, CacheStats> stats() {
+        Map<Region, CacheStats> stats = new EnumMap<>(Region.class);
+        caches.forEach((region, cache) -> stats.put(region, cache.stats()));
+        return stats;
+    }
+
+    /** Drops everything cached for one theater, e.g. after it was changed with plain SQL. */
+    public void invalidate(int theaterId) {
+        caches.get(Region.THEATERS).invalidateAll();
+        invalidate(Region.SEAT_TYPES, theaterId);
+        invalidate(Region.SECTIONS, theaterId);
+        invalidate(Region.CONFIG, theaterId);
+    }
+
+    public void invalidate(Region region, int theaterId) {
+        caches.get(region).invalidateIf(key -> key.theaterId() == theaterId);
+    }
+
+    public void invalidateAll() {
+        caches.values().forEach(TtlCache::invalidateAll);
+    }
+
+    /** Applies a change committed by any node; subscribe this to a ChangeNotificationListener. */
+    public void onChange(ChangeEvent event) {
+        if (event.isResync()) {
+            invalidateAll();
+            return;
+        }
+        switch (event.table()) {
+            case "theaters" -> invalidate(event.theaterId());
+            case "seat_types" -> {
+                invalidate(Region.SEAT_TYPES, event.theaterId());
+                invalidate(Region.SECTIONS, event.theaterId());
+            }
+            case "sections" -> invalidate(Region.SECTIONS, event.theaterId());
+            case "theater_config" -> invalidate(Region.CONFIG, event.theaterId());
+            default -> { }   // seats are not cached here
+        }
+    }
+
+    // Loads go to the primary: a reload right after a change notification must not cache a
+    // replica's older copy for a whole TTL
+    @SuppressWarnings("unchecked")
+    private <T> T cached(Region region, String query, int theaterId, Object arg, Supplier<T> loader) {
+        return (T) caches.get(region).get(new Key(query, theaterId, arg), key -> ConnectionRouter.onPrimary(loader));
+    }
+
+    // Callers may modify the lists they get back, so cached lists are never handed out directly
+    private static <T> List<T> copy(List<T> list) {
+        return new ArrayList<>(list);
+    }
+
+    // Theater management
+    @Override
+    public List<Theater> getAllTheaters() {
+        return copy(cached(Region.THEATERS, "all", 0, null, delegate::getAllTheaters));
+    }
+
+    @Override
+    public Optional<Theater> getTheaterById(int theaterId) {
+        return cached(Region.THEATERS, "id", 0, theaterId, () -> delegate.getTheaterById(theaterId));
+    }
+
+    @Override
+    public Optional<Theater> getTheaterByName(String name) {
+        return cached(Region.THEATERS, "name", 0, name, () -> delegate.getTheaterByName(name));
+    }
+
+    @Override
+    public int createTheater(String name, String location) {
+        int id = delegate.createTheater(name, location);
+        caches.get(Region.THEATERS).invalidateAll();
+        return id;
+    }
+
+    @Override
+    public boolean updateTheater(int theaterId, String name, String location) {
+        boolean updated = delegate.updateTheater(theaterId, name, location);
+        caches.get(Region.THEATERS).invalidateAll();
+        return updated;
+    }
+
+    @Override
+    public boolean deleteTheater(int theaterId) {
+        boolean deleted = delegate.deleteTheater(theaterId);
+        invalidate(theaterId);
+        return deleted;
+    }
+
+    // Seat type management - sections carry their seat type's name, so both are dropped
+    @Override
+    public List<SeatType> getAllSeatTypes(int theaterId) {
+        return copy(cached(Region.SEAT_TYPES, "all", theaterId, null, () -> delegate.getAllSeatTypes(theaterId)));
+    }
+
+    @Override
+    public Optional<SeatType> getSeatTypeById(int id, int theaterId) {
+        return cached(Region.SEAT_TYPES, "id", theaterId, id, () -> delegate.getSeatTypeById(id, theaterId));
+    }
+
+    @Override
+    public Optional<SeatType> getSeatTypeByName(String name, int theaterId) {
+        return cached(Region.SEAT_TYPES, "name", theaterId, name, () -> delegate.getSeatTypeByName(name, theaterId));
+    }
+
+    @Override
+    public int createSeatType(String name, String description, double price, int theaterId) {
+        int id = delegate.createSeatType(name, description, price, theaterId);
+        invalidate(Region.SEAT_TYPES, theaterId);
+        return id;
+    }
+
+    @Override
+    public boolean updateSeatType(int id, int theaterId, String name, String description, double price) {
+        boolean updated = delegate.updateSeatType(id, theaterId, name, description, price);
+        invalidate(Region.SEAT_TYPES, theaterId);
+        invalidate(Region.SECTIONS, theaterId);
+        return updated;
+    }
+
+    @Override
+    public boolean deleteSeatType(int id, int theaterId) {
+        boolean deleted = delegate.deleteSeatType(id, theaterId);
+        invalidate(Region.SEAT_TYPES, theaterId);
+        invalidate(Region.SECTIONS, theaterId);
+        return deleted;
+    }
+
+    // Section management
+    @Override
+    public List<Section> getAllSections(int theaterId) {
+        return copy(cached(Region.SECTIONS, "all", theaterId, null, () -> delegate.getAllSections(theaterId)));
+    }
+
+    @Override
+    public List<Section> getActiveSections(int theaterId) {
+        return copy(cached(Region.SECTIONS, "active", theaterId, null, () -> delegate.getActiveSections(theaterId)));
+    }
+
+    @Override
+    public Optional<Section> getSectionByName(String name, int theaterId) {
+        return cached(Region.SECTIONS, "name", theaterId, name, () -> delegate.getSectionByName(name, theaterId));
+    }
+
+    @Override
+    public Optional<Section> getSectionByNameAndTheater(String name, int theaterId) {
+        return cached(Region.SECTIONS, "nameAndTheater", theaterId, name,
+                () -> delegate.getSectionByNameAndTheater(name, theaterId));
+    }
+
+    @Override
+    public int createSection(int theaterId, String name, int seatTypeId, int rows, int seatsPerRow, String description) {
+        int id = delegate.createSection(theaterId, name, seatTypeId, rows, seatsPerRow, description);
+        invalidate(Region.SECTIONS, theaterId);
+        return id;
+    }
+
+    @Override
+    public int createSection(String name, int theaterId, int seatTypeId, int rows, int seatsPerRow, String description) {
+        int id = delegate.createSection(name, theaterId, seatTypeId, rows, seatsPerRow, description);
+        invalidate(Region.SECTIONS, theaterId);
+        return id;
+    }
+
+    @Override
+    public boolean updateSection(String name, int theaterId, int rows, int seatsPerRow, int seatTypeId) {
+        boolean updated = delegate.updateSection(name, theaterId, rows, seatsPerRow, seatTypeId);
+        invalidate(Region.SECTIONS, theaterId);
+        return updated;
+    }
+
+    @Override
+    public boolean deactivateSection(String name, int theaterId) {
+        boolean updated = delegate.deactivateSection(name, theaterId);
+        invalidate(Region.SECTIONS, theaterId);
+        return updated;
+    }
+
+    @Override
+    public boolean activateSection(String name, int theaterId) {
+        boolean updated = delegate.activateSection(name, theaterId);
+        invalidate(Region.SECTIONS, theaterId);
+        return updated;
+    }
+
+    @Override
+    public int generateSeatsForSection(String sectionName, int theaterId) {
+        int count = delegate.generateSeatsForSection(sectionName, theaterId);
+        invalidate(Region.SECTIONS, theaterId);
+        return count;
+    }
+
+    // Seat management - not cached
+    @Override
+    public List<Seat> getSeatsBySection(String sectionName, int theaterId) {
+        return delegate.getSeatsBySection(sectionName, theaterId);
+    }
+
+    @Override
+    public List<Seat> getAvailableSeatsBySection(String sectionName, int theaterId) {
+        return delegate.getAvailableSeatsBySection(sectionName, theaterId);
+    }
+
+    @Override
+    public List<Seat> getAvailableSeatsByRow(String sectionName, int row, int theaterId) {
+        return delegate.getAvailableSeatsByRow(sectionName, row, theaterId);
+    }
+
+    @Override
+    public List<Integer> getRowsWithAvailableSeats(String sectionName, int theaterId) {
+        return delegate.getRowsWithAvailableSeats(sectionName, theaterId);
+    }
+
+    @Override
+    public Optional<Seat> getSeatByCode(String seatCode, int theaterId) {
+        return delegate.getSeatByCode(seatCode, theaterId);
+    }
+
+    @Override
+    public boolean bookSeat(String seatCode, int theaterId, String customerName, String customerEmail, String customerPhone) {
+        return delegate.bookSeat(seatCode, theaterId, customerName, customerEmail, customerPhone);
+    }
+
+    @Override
+    public Optional<BookingConfirmation> createBooking(String seatCode, int theaterId, String customerName,
+                                                       String customerEmail, String customerPhone) {
+        return delegate.createBooking(seatCode, theaterId, customerName, customerEmail, customerPhone);
+    }
+
+    @Override
+    public Optional<SeatHold> holdSeat(String seatCode, int theaterId, int ttlSeconds) {
+        return delegate.holdSeat(seatCode, theaterId, ttlSeconds);
+    }
+
+    @Override
+    public Optional<BookingConfirmation> bookHeldSeat(SeatHold hold, String customerName,
+                                                      String customerEmail, String customerPhone) {
+        return delegate.bookHeldSeat(hold, customerName, customerEmail, customerPhone);
+    }
+
+    @Override
+    public int releaseHolds(List<SeatHold> holds) {
+        return delegate.releaseHolds(holds);
+    }
+
+    @Override
+    public int releaseExpiredHolds() {
+        return delegate.releaseExpiredHolds();
+    }
+
+    @Override
+    public List<BookingConfirmation> bookSeats(List<String> seatCodes, int theaterId, String customerName,
+                                               String customerEmail, String customerPhone) {
+        return delegate.bookSeats(seatCodes, theaterId, customerName, customerEmail, customerPhone);
+    }
+
+    @Override
+    public List<Seat> getAllAvailableSeats(int theaterId) {
+        return delegate.getAllAvailableSeats(theaterId);
+    }
+
+    @Override
+    public List<Seat> getAllBookedSeats(int theaterId) {
+        return delegate.getAllBookedSeats(theaterId);
+    }
+
+    @Override
+    public int streamSeats(int theaterId, SeatStatus status, Consumer<Seat> sink) {
+        return delegate.streamSeats(theaterId, status, sink);
+    }
+
+    @Override
+    public int streamSeatRowSummaries(int theaterId, SeatStatus status, Consumer<SeatRowSummary> sink) {
+        return delegate.streamSeatRowSummaries(theaterId, status, sink);
+    }
+
+    @Override
+    public List<Seat> getAllSeats(int theaterId) {
+        return delegate.getAllSeats(theaterId);
+    }
+
+    // Booking management - not cached
+    @Override
+    public List<Booking> getAllBookings(int theaterId) {
+        return delegate.getAllBookings(theaterId);
+    }
+
+    @Override
+    public BookingPage getBookingsPage(int theaterId, BookingPage.Cursor after, int pageSize) {
+        return delegate.getBookingsPage(theaterId, after, pageSize);
+    }
+
+    @Override
+    public int streamBookings(int theaterId, Consumer<Booking> sink) {
+        return delegate.streamBookings(theaterId, sink);
+    }
+
+    @Override
+    public Optional<Booking> getBookingById(int id, int theaterId) {
+        return delegate.getBookingById(id, theaterId);
+    }
+
+    @Override
+    public boolean cancelBooking(int bookingId, int theaterId) {
+        return delegate.cancelBooking(bookingId, theaterId);
+    }
+
+    // Configuration management
+    @Override
+    public List<TheaterConfig> getAllConfigs(int theaterId) {
+        return copy(cached(Region.CONFIG, "all", theaterId, null, () -> delegate.getAllConfigs(theaterId)));
+    }
+
+    @Override
+    public Optional<TheaterConfig> getConfigByKey(String key, int theaterId) {
+        return cached(Region.CONFIG, "key", theaterId, key, () -> delegate.getConfigByKey(key, theaterId));
+    }
+
+    @Override
+    public boolean updateConfig(String key, String value, int theaterId) {
+        boolean updated = delegate.updateConfig(key, value, theaterId);
+        invalidate(Region.CONFIG, theaterId);
+        return updated;
+    }
+
+    @Override
+    public boolean saveConfig(String key, String value, String description, int theaterId) {
+        boolean saved = delegate.saveConfig(key, value, description, theaterId);
+        invalidate(Region.CONFIG, theaterId);
+        return saved;
+    }
+
+    // Statistics - not cached
+    @Override
+    public int getTotalSeats(int theaterId) {
+        return delegate.getTotalSeats(theaterId);
+    }
+
+    @Override
+    public int getAvailableSeatsCount(int theaterId) {
+        return delegate.getAvailableSeatsCount(theaterId);
+    }
+
+    @Override
+    public int getBookedSeatsCount(int theaterId) {
+        return delegate.getBookedSeatsCount(theaterId);
+    }
+
+    @Override
+    public double getTotalRevenue(int theaterId) {
+        return delegate.getTotalRevenue(theaterId);
+    }
+
+    @Override
+    public TheaterStatistics getTheaterStatistics(int theaterId) {
+        return delegate.getTheaterStatistics(theaterId);
+    }
+
+    @Override
+    public int getTotalSeatsAllTheaters() {
+        return delegate.getTotalSeatsAllTheaters();
+    }
+
+    @Override
+    public int getAvailableSeatsCountAllTheaters() {
+        return delegate.getAvailableSeatsCountAllTheaters();
+    }
+
+    @Override
+    public int getBookedSeatsCountAllTheaters() {
+        return delegate.getBookedSeatsCountAllTheaters();
+    }
+
+    @Override
+    public double getTotalRevenueAllTheaters() {
+        return delegate.getTotalRevenueAllTheaters();
+    }
+
+    @Override
+    public List<Booking> getAllBookingsAllTheaters() {
+        return delegate.getAllBookingsAllTheaters();
+    }
+
+    @Override
+    public BookingPage getBookingsPageAllTheaters(BookingPage.Cursor after, int pageSize) {
+        return delegate.getBookingsPageAllTheaters(after, pageSize);
+    }
+
+    @Override
+    public int streamBookingsAllTheaters(Consumer<Booking> sink) {
+        return delegate.streamBookingsAllTheaters(sink);
+    }
+
+    @Override
+    public OccupancyReport getOccupancyReport() {
+        return cached(Region.REPORTS, "occupancy", 0, null, delegate::getOccupancyReport);
+    }
+}
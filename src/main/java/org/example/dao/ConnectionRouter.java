@@ -0,0 +1,142 @@
+package org.example.dao;
+
+import org.example.config.DatabaseConfig;
+import org.example.metrics.DaoMetrics;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Chooses the pool for each DAO call: writes always go to the primary, read-only queries
+ * to the read pool (a replica) when one is configured.
+ *
+ * Read-your-writes: a session that wrote within the last read.stickyAfterWriteMs milliseconds
+ * reads from the primary, so it never sees a replica that has not yet replayed its own write.
+ * A session is the current thread's unless one is bound with {@link #bind}, which lets a
+ * session move between threads. Code that must not see replica lag at all (rebuilding caches
+ * after a change notification) runs its reads inside {@link #onPrimary}.
+ *
+ * If the read pool cannot hand out a connection, the read falls back to the primary, and
+ * so do all reads for the next read.retryAfterMs milliseconds, so a dead replica costs one
+ * read pool timeout (read.pool.connectionTimeoutMs) rather than one per read.
+ */
+public final class ConnectionRouter {
+
+    /** Per-session routing state. */
+    public static final class Session {
+        private volatile long lastWriteNanos;
+        private volatile boolean hasWritten;
+
+        boolean wroteWithin(long nanos) {
+            return hasWritten && System.nanoTime() - lastWriteNanos < nanos;
+        }
+
+        void markWrite() {
+            lastWriteNanos = System.nanoTime();
+            hasWritten = true;
+        }
+    }
+
+    public record Stats(long replicaReads, long primaryReads, long stickyReads, long fallbacks, long writes) {}
+
+    private static final ThreadLocal<Session> THREAD_SESSION = ThreadLocal.withInitial(Session::new);
+    private static final ThreadLocal<Session> BOUND_SESSION = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> PRIMARY_SCOPE = ThreadLocal.withInitial(() -> 0);
+
+    private static final LongAdder replicaReads = new LongAdder();
+    private static final LongAdder primaryReads = new LongAdder();
+    private static final LongAdder stickyReads = new LongAdder();
+    private static final LongAdder fallbacks = new LongAdder();
+    private static final LongAdder writes = new LongAdder();
+
+    // System.nanoTime() before which reads skip the replica; 0 when it is healthy
+    private static volatile long replicaRetryAtNanos;
+
+    private ConnectionRouter() {}
+
+    // Only initialised on the first routed read, so onPrimary never starts the pools
+    private static final class Sticky {
+        static final long NANOS = DatabaseConfig.getSettings().getLong("read.stickyAfterWriteMs", 5000) * 1_000_000L;
+        static final long RETRY_AFTER_NANOS = DatabaseConfig.getSettings().getLong("read.retryAfterMs", 5000) * 1_000_000L;
+    }
+
+    /** A connection for a statement that changes data. */
+    public static Connection write() throws SQLException {
+        writes.increment();
+        currentSession().markWrite();
+        return acquire(DatabaseConfig.getDataSource());
+    }
+
+    /** A connection for a read-only query. */
+    public static Connection read() throws SQLException {
+        if (!DatabaseConfig.hasReadPool()) {
+            primaryReads.increment();
+            return acquire(DatabaseConfig.getDataSource());
+        }
+        if (PRIMARY_SCOPE.get() > 0 || currentSession().wroteWithin(Sticky.NANOS)) {
+            stickyReads.increment();
+            return acquire(DatabaseConfig.getDataSource());
+        }
+        long retryAt = replicaRetryAtNanos;
+        if (retryAt != 0 && System.nanoTime() - retryAt < 0) {
+            fallbacks.increment();
+            return acquire(DatabaseConfig.getDataSource());
+        }
+        try {
+            Connection conn = acquire(DatabaseConfig.getReadDataSource());
+            replicaRetryAtNanos = 0;
+            replicaReads.increment();
+            return conn;
+        } catch (SQLException e) {
+            replicaRetryAtNanos = System.nanoTime() + Sticky.RETRY_AFTER_NANOS;
+            fallbacks.increment();
+            return acquire(DatabaseConfig.getDataSource());
+        }
+    }
+
+    // Time spent waiting for the pool counts towards the calling DAO method's acquire time
+    private static Connection acquire(DataSource dataSource) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return dataSource.getConnection();
+        } finally {
+            DaoMetrics.addAcquireNanos(System.nanoTime() - start);
+        }
+    }
+
+    /** Runs action with every read on this thread going to the primary. */
+    public static <T> T onPrimary(Supplier<T> action) {
+        PRIMARY_SCOPE.set(PRIMARY_SCOPE.get() + 1);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY_SCOPE.set(PRIMARY_SCOPE.get() - 1);
+        }
+    }
+
+    /** Makes session the current thread's session until {@link #unbind} is called. */
+    public static void bind(Session session) {
+        BOUND_SESSION.set(session);
+    }
+
+    public static void unbind() {
+        BOUND_SESSION.remove();
+    }
+
+    /** The session bound with {@link #bind}, or null if the thread uses its own. */
+    public static Session boundSession() {
+        return BOUND_SESSION.get();
+    }
+
+    public static Session currentSession() {
+        Session bound = BOUND_SESSION.get();
+        return bound != null ? bound : THREAD_SESSION.get();
+    }
+
+    public static Stats stats() {
+        return new Stats(replicaReads.sum(), primaryReads.sum(), stickyReads.sum(), fallbacks.sum(), writes.sum());
+    }
+}
@@ -0,0 +1,645 @@
+package org.example.dao;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.*;
+import java.util.Calendar;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The PreparedStatement handed out by {@link SqlStatement#prepare}: a plain delegate that counts
+ * every execute call against its statement. With the slow-query log enabled it also remembers
+ * the bind values and times each execution; otherwise the only extra work per call is one
+ * null check.
+ */
+final class CountingPreparedStatement implements PreparedStatement {
+    private final SqlStatement statement;
+    private final String sql;
+    private final PreparedStatement delegate;
+    private final Map<Integer, SlowQueryLog.Bind> binds;   // null unless the slow-query log is on
+
+    CountingPreparedStatement(SqlStatement statement, String sql, PreparedStatement delegate) {
+        this.statement = statement;
+        this.sql = sql;
+        this.delegate = delegate;
+        this.binds = SlowQueryLog.enabled() ? new TreeMap<>() : null;
+    }
+
+    // Execution
+
+    private long started() {
+        statement.countExecution();
+        return binds != null ? System.nanoTime() : 0;
+    }
+
+    private void finished(long start, boolean batch) {
+        if (binds == null) return;
+        long elapsed = System.nanoTime() - start;
+        if (elapsed > SlowQueryLog.thresholdNanos()) {
+            SlowQueryLog.record(statement, sql, binds, elapsed, batch);
+        }
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        long start = started();
+        try {
+            return delegate.executeQuery();
+        } finally {
+            finished(start, false);
+        }
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        long start = started();
+        try {
+            return delegate.executeUpdate();
+        } finally {
+            finished(start, false);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        long start = started();
+        try {
+            return delegate.executeLargeUpdate();
+        } finally {
+            finished(start, false);
+        }
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        long start = started();
+        try {
+            return delegate.execute();
+        } finally {
+            finished(start, false);
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        long start = started();
+        try {
+            return delegate.executeBatch();
+        } finally {
+            finished(start, true);
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        long start = started();
+        try {
+            return delegate.executeLargeBatch();
+        } finally {
+            finished(start, true);
+        }
+    }
+
+    // Statement's execute methods take their own SQL; they are counted but never logged as this statement
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        statement.countExecution();
+        return delegate.executeQuery(sql);
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        statement.countExecution();
+        return delegate.executeUpdate(sql);
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        statement.countExecution();
+        return delegate.executeUpdate(sql, autoGeneratedKeys);
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        statement.countExecution();
+        return delegate.executeUpdate(sql, columnIndexes);
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        statement.countExecution();
+        return delegate.executeUpdate(sql, columnNames);
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        statement.countExecution();
+        return delegate.executeLargeUpdate(sql);
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        statement.countExecution();
+        return delegate.executeLargeUpdate(sql, autoGeneratedKeys);
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        statement.countExecution();
+        return delegate.executeLargeUpdate(sql, columnIndexes);
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        statement.countExecution();
+        return delegate.executeLargeUpdate(sql, columnNames);
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        statement.countExecution();
+        return delegate.execute(sql);
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        statement.countExecution();
+        return delegate.execute(sql, autoGeneratedKeys);
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        statement.countExecution();
+        return delegate.execute(sql, columnIndexes);
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        statement.countExecution();
+        return delegate.execute(sql, columnNames);
+    }
+
+    // Parameters; each setter also records how to replay it on the EXPLAIN statement
+
+    private void bind(int index, Object value, SlowQueryLog.Replay replay) {
+        binds.put(index, new SlowQueryLog.Bind(value, replay));
+    }
+
+    // Streams and readers are consumed by the first execution, so EXPLAIN gets a NULL instead
+    private void bindUnreplayable(int index, String description) {
+        bind(index, description, s -> s.setNull(index, Types.OTHER));
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        delegate.clearParameters();
+        if (binds != null) binds.clear();
+    }
+
+    @Override
+    public void setNull(int index, int sqlType) throws SQLException {
+        delegate.setNull(index, sqlType);
+        if (binds != null) bind(index, null, s -> s.setNull(index, sqlType));
+    }
+
+    @Override
+    public void setNull(int index, int sqlType, String typeName) throws SQLException {
+        delegate.setNull(index, sqlType, typeName);
+        if (binds != null) bind(index, null, s -> s.setNull(index, sqlType, typeName));
+    }
+
+    @Override
+    public void setBoolean(int index, boolean x) throws SQLException {
+        delegate.setBoolean(index, x);
+        if (binds != null) bind(index, x, s -> s.setBoolean(index, x));
+    }
+
+    @Override
+    public void setByte(int index, byte x) throws SQLException {
+        delegate.setByte(index, x);
+        if (binds != null) bind(index, x, s -> s.setByte(index, x));
+    }
+
+    @Override
+    public void setShort(int index, short x) throws SQLException {
+        delegate.setShort(index, x);
+        if (binds != null) bind(index, x, s -> s.setShort(index, x));
+    }
+
+    @Override
+    public void setInt(int index, int x) throws SQLException {
+        delegate.setInt(index, x);
+        if (binds != null) bind(index, x, s -> s.setInt(index, x));
+    }
+
+    @Override
+    public void setLong(int index, long x) throws SQLException {
+        delegate.setLong(index, x);
+        if (binds != null) bind(index, x, s -> s.setLong(index, x));
+    }
+
+    @Override
+    public void setFloat(int index, float x) throws SQLException {
+        delegate.setFloat(index, x);
+        if (binds != null) bind(index, x, s -> s.setFloat(index, x));
+    }
+
+    @Override
+    public void setDouble(int index, double x) throws SQLException {
+        delegate.setDouble(index, x);
+        if (binds != null) bind(index, x, s -> s.setDouble(index, x));
+    }
+
+    @Override
+    public void setBigDecimal(int index, BigDecimal x) throws SQLException {
+        delegate.setBigDecimal(index, x);
+        if (binds != null) bind(index, x, s -> s.setBigDecimal(index, x));
+    }
+
+    @Override
+    public void setString(int index, String x) throws SQLException {
+        delegate.setString(index, x);
+        if (binds != null) bind(index, x, s -> s.setString(index, x));
+    }
+
+    @Override
+    public void setNString(int index, String x) throws SQLException {
+        delegate.setNString(index, x);
+        if (binds != null) bind(index, x, s -> s.setNString(index, x));
+    }
+
+    @Override
+    public void setBytes(int index, byte[] x) throws SQLException {
+        delegate.setBytes(index, x);
+        if (binds != null) bind(index, x == null ? null : "<" + x.length + " bytes>", s -> s.setBytes(index, x));
+    }
+
+    @Override
+    public void setDate(int index, Date x) throws SQLException {
+        delegate.setDate(index, x);
+        if (binds != null) bind(index, x, s -> s.setDate(index, x));
+    }
+
+    @Override
+    public void setDate(int index, Date x, Calendar cal) throws SQLException {
+        delegate.setDate(index, x, cal);
+        if (binds != null) bind(index, x, s -> s.setDate(index, x, cal));
+    }
+
+    @Override
+    public void setTime(int index, Time x) throws SQLException {
+        delegate.setTime(index, x);
+        if (binds != null) bind(index, x, s -> s.setTime(index, x));
+    }
+
+    @Override
+    public void setTime(int index, Time x, Calendar cal) throws SQLException {
+        delegate.setTime(index, x, cal);
+        if (binds != null) bind(index, x, s -> s.setTime(index, x, cal));
+    }
+
+    @Override
+    public void setTimestamp(int index, Timestamp x) throws SQLException {
+        delegate.setTimestamp(index, x);
+        if (binds != null) bind(index, x, s -> s.setTimestamp(index, x));
+    }
+
+    @Override
+    public void setTimestamp(int index, Timestamp x, Calendar cal) throws SQLException {
+        delegate.setTimestamp(index, x, cal);
+        if (binds != null) bind(index, x, s -> s.setTimestamp(index, x, cal));
+    }
+
+    @Override
+    public void setObject(int index, Object x) throws SQLException {
+        delegate.setObject(index, x);
+        if (binds != null) bind(index, x, s -> s.setObject(index, x));
+    }
+
+    @Override
+    public void setObject(int index, Object x, int targetSqlType) throws SQLException {
+        delegate.setObject(index, x, targetSqlType);
+        if (binds != null) bind(index, x, s -> s.setObject(index, x, targetSqlType));
+    }
+
+    @Override
+    public void setObject(int index, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+        delegate.setObject(index, x, targetSqlType, scaleOrLength);
+        if (binds != null) bind(index, x, s -> s.setObject(index, x, targetSqlType, scaleOrLength));
+    }
+
+    @Override
+    public void setObject(int index, Object x, SQLType targetSqlType) throws SQLException {
+        delegate.setObject(index, x, targetSqlType);
+        if (binds != null) bind(index, x, s -> s.setObject(index, x, targetSqlType));
+    }
+
+    @Override
+    public void setObject(int index, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        delegate.setObject(index, x, targetSqlType, scaleOrLength);
+        if (binds != null) bind(index, x, s -> s.setObject(index, x, targetSqlType, scaleOrLength));
+    }
+
+    @Override
+    public void setArray(int index, Array x) throws SQLException {
+        delegate.setArray(index, x);
+        if (binds != null) bind(index, x, s -> s.setArray(index, x));
+    }
+
+    @Override
+    public void setRef(int index, Ref x) throws SQLException {
+        delegate.setRef(index, x);
+        if (binds != null) bind(index, x, s -> s.setRef(index, x));
+    }
+
+    @Override
+    public void setURL(int index, URL x) throws SQLException {
+        delegate.setURL(index, x);
+        if (binds != null) bind(index, x, s -> s.setURL(index, x));
+    }
+
+    @Override
+    public void setRowId(int index, RowId x) throws SQLException {
+        delegate.setRowId(index, x);
+        if (binds != null) bind(index, x, s -> s.setRowId(index, x));
+    }
+
+    @Override
+    public void setSQLXML(int index, SQLXML x) throws SQLException {
+        delegate.setSQLXML(index, x);
+        if (binds != null) bindUnreplayable(index, "<xml>");
+    }
+
+    @Override
+    public void setBlob(int index, Blob x) throws SQLException {
+        delegate.setBlob(index, x);
+        if (binds != null) bind(index, "<blob>", s -> s.setBlob(index, x));
+    }
+
+    @Override
+    public void setBlob(int index, InputStream x) throws SQLException {
+        delegate.setBlob(index, x);
+        if (binds != null) bindUnreplayable(index, "<stream>");
+    }
+
+    @Override
+    public void setBlob(int index, InputStream x, long length) throws SQLException {
+        delegate.setBlob(index, x, length);
+        if (binds != null) bindUnreplayable(index, "<stream>");
+    }
+
+    @Override
+    public void setClob(int index, Clob x) throws SQLException {
+        delegate.setClob(index, x);
+        if (binds != null) bind(index, "<clob>", s -> s.setClob(index, x));
+    }
+
+    @Override
+    public void setClob(int index, Reader x) throws SQLException {
+        delegate.setClob(index, x);
+        if (binds != null) bindUnreplayable(index, "<reader>");
+    }
+
+    @Override
+    public void setClob(int index, Reader x, long length) throws SQLException {
+        delegate.setClob(index, x, length);
+        if (binds != null) bindUnreplayable(index, "<reader>");
+    }
+
+    @Override
+    public void setNClob(int index, NClob x) throws SQLException {
+        delegate.setNClob(index, x);
+        if (binds != null) bind(index, "<nclob>", s -> s.setNClob(index, x));
+    }
+
+    @Override
+    public void setNClob(int index, Reader x) throws SQLException {
+        delegate.setNClob(index, x);
+        if (binds != null) bindUnreplayable(index, "<reader>");
+    }
+
+    @Override
+    public void setNClob(int index, Reader x, long length) throws SQLException {
+        delegate.setNClob(index, x, length);
+        if (binds != null) bindUnreplayable(index, "<reader>");
+    }
+
+    @Override
+    public void setAsciiStream(int index, InputStream x) throws SQLException {
+        delegate.setAsciiStream(index, x);
+        if (binds != null) bindUnreplayable(index, "<stream>");
+    }
+
+    @Override
+    public void setAsciiStream(int index, InputStream x, int length) throws SQLException {
+        delegate.setAsciiStream(index, x, length);
+        if (binds != null) bindUnreplayable(index, "<stream>");
+    }
+
+    @Override
+    public void setAsciiStream(int index, InputStream x, long length) throws SQLException {
+        delegate.setAsciiStream(index, x, length);
+        if (binds != null) bindUnreplayable(index, "<stream>");
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void setUnicodeStream(int index, InputStream x, int length) throws SQLException {
+        delegate.setUnicodeStream(index, x, length);
+        if (binds != null) bindUnreplayable(index, "<stream>");
+    }
+
+    @Override
+    public void setBinaryStream(int index, InputStream x) throws SQLException {
+        delegate.setBinaryStream(index, x);
+        if (binds != null) bindUnreplayable(index, "<stream>");
+    }
+
+    @Override
+    public void setBinaryStream(int index, InputStream x, int length) throws SQLException {
+        delegate.setBinaryStream(index, x, length);
+        if (binds != null) bindUnreplayable(index, "<stream>");
+    }
+
+    @Override
+    public void setBinaryStream(int index, InputStream x, long length) throws SQLException {
+        delegate.setBinaryStream(index, x, length);
+        if (binds != null) bindUnreplayable(index, "<stream>");
+    }
+
+    @Override
+    public void setCharacterStream(int index, Reader x) throws SQLException {
+        delegate.setCharacterStream(index, x);
+        if (binds != null) bindUnreplayable(index, "<reader>");
+    }
+
+    @Override
+    public void setCharacterStream(int index, Reader x, int length) throws SQLException {
+        delegate.setCharacterStream(index, x, length);
+        if (binds != null) bindUnreplayable(index, "<reader>");
+    }
+
+    @Override
+    public void setCharacterStream(int index, Reader x, long length) throws SQLException {
+        delegate.setCharacterStream(index, x, length);
+        if (binds != null) bindUnreplayable(index, "<reader>");
+    }
+
+    @Override
+    public void setNCharacterStream(int index, Reader x) throws SQLException {
+        delegate.setNCharacterStream(index, x);
+        if (binds != null) bindUnreplayable(index, "<reader>");
+    }
+
+    @Override
+    public void setNCharacterStream(int index, Reader x, long length) throws SQLException {
+        delegate.setNCharacterStream(index, x, length);
+        if (binds != null) bindUnreplayable(index, "<reader>");
+    }
+
+    // Everything else is passed straight through
+
+    @Override
+    public void addBatch() throws SQLException { delegate.addBatch(); }
+
+    @Override
+    public void addBatch(String sql) throws SQLException { delegate.addBatch(sql); }
+
+    @Override
+    public void clearBatch() throws SQLException { delegate.clearBatch(); }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException { return delegate.getMetaData(); }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException { return delegate.getParameterMetaData(); }
+
+    @Override
+    public void close() throws SQLException { delegate.close(); }
+
+    @Override
+    public boolean isClosed() throws SQLException { return delegate.isClosed(); }
+
+    @Override
+    public void closeOnCompletion() throws SQLException { delegate.closeOnCompletion(); }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException { return delegate.isCloseOnCompletion(); }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException { return delegate.getMaxFieldSize(); }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException { delegate.setMaxFieldSize(max); }
+
+    @Override
+    public int getMaxRows() throws SQLException { return delegate.getMaxRows(); }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException { delegate.setMaxRows(max); }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException { return delegate.getLargeMaxRows(); }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException { delegate.setLargeMaxRows(max); }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException { delegate.setEscapeProcessing(enable); }
+
+    @Override
+    public int getQueryTimeout() throws SQLException { return delegate.getQueryTimeout(); }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException { delegate.setQueryTimeout(seconds); }
+
+    @Override
+    public void cancel() throws SQLException { delegate.cancel(); }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException { return delegate.getWarnings(); }
+
+    @Override
+    public void clearWarnings() throws SQLException { delegate.clearWarnings(); }
+
+    @Override
+    public void setCursorName(String name) throws SQLException { delegate.setCursorName(name); }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException { return delegate.getResultSet(); }
+
+    @Override
+    public int getUpdateCount() throws SQLException { return delegate.getUpdateCount(); }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException { return delegate.getLargeUpdateCount(); }
+
+    @Override
+    public boolean getMoreResults() throws SQLException { return delegate.getMoreResults(); }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException { return delegate.getMoreResults(current); }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException { delegate.setFetchDirection(direction); }
+
+    @Override
+    public int getFetchDirection() throws SQLException { return delegate.getFetchDirection(); }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException { delegate.setFetchSize(rows); }
+
+    @Override
+    public int getFetchSize() throws SQLException { return delegate.getFetchSize(); }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException { return delegate.getResultSetConcurrency(); }
+
+    @Override
+    public int getResultSetType() throws SQLException { return delegate.getResultSetType(); }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException { return delegate.getResultSetHoldability(); }
+
+    @Override
+    public Connection getConnection() throws SQLException { return delegate.getConnection(); }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException { return delegate.getGeneratedKeys(); }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException { delegate.setPoolable(poolable); }
+
+    @Override
+    public boolean isPoolable() throws SQLException { return delegate.isPoolable(); }
+
+    @Override
+    public String enquoteLiteral(String val) throws SQLException { return delegate.enquoteLiteral(val); }
+
+    @Override
+    public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException {
+        return delegate.enquoteIdentifier(identifier, alwaysQuote);
+    }
+
+    @Override
+    public boolean isSimpleIdentifier(String identifier) throws SQLException {
+        return delegate.isSimpleIdentifier(identifier);
+    }
+
+    @Override
+    public String enquoteNCharLiteral(String val) throws SQLException { return delegate.enquoteNCharLiteral(val); }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(delegate) ? iface.cast(delegate) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,486 @@
+package org.example.dao;
+
+import org.example.config.TheaterConfig;
+import org.example.inventory.BestSeatFinder;
+import org.example.inventory.SectionLayout;
+import org.example.inventory.TheaterInventory;
+import org.example.model.*;
+import org.example.notify.ChangeEvent;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * TheaterDAO that answers seat reads from an in-memory inventory per theater
+ * and writes bookings, cancellations and section changes through to the wrapped DAO.
+ *
+ * The inventory of a theater is loaded on first use (or by {@link #rebuild()} at startup)
+ * and dropped whenever a write changes the shape of its sections.
+ */
+public class InMemorySeatInventoryDAO implements TheaterDAO {
+    private final TheaterDAO delegate;
+    private final Map<Integer, TheaterInventory> inventories = new ConcurrentHashMap<>();
+
+    public InMemorySeatInventoryDAO(TheaterDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    /** Loads the inventory of every theater from the database, replacing what is cached. */
+    public void rebuild() {
+        inventories.clear();
+        for (Theater theater : delegate.getAllTheaters()) {
+            inventories.put(theater.getId(), load(theater.getId()));
+        }
+    }
+
+    /** Forgets a theater's inventory; it is reloaded from the database on next access. */
+    public void invalidate(int theaterId) {
+        inventories.remove(theaterId);
+    }
+
+    /**
+     * Applies a change committed by any node; subscribe this to a ChangeNotificationListener.
+     * Single seat changes are applied in place, anything else reloads the theater on next access.
+     */
+    public void onChange(ChangeEvent event) {
+        if (event.isResync()) {
+            inventories.clear();
+            return;
+        }
+        switch (event.table()) {
+            case "seats" -> {
+                TheaterInventory inventory = inventories.get(event.theaterId());
+                if (inventory == null) return;
+                if (event.key() == null || event.status() == null
+                        || !inventory.setStatus(event.key(), SeatStatus.valueOf(event.status()))) {
+                    invalidate(event.theaterId());
+                }
+            }
+            case "sections", "theaters" -> invalidate(event.theaterId());
+            default -> { }
+        }
+    }
+
+    public TheaterInventory inventory(int theaterId) {
+        return inventories.computeIfAbsent(theaterId, this::load);
+    }
+
+    /** Seat finder over the current availability, with seat type prices and aisle layouts from the database. */
+    public BestSeatFinder seatFinder(int theaterId, BestSeatFinder.Preferences preferences) {
+        Map<Integer, Double> prices = new HashMap<>();
+        for (SeatType type : delegate.getAllSeatTypes(theaterId)) {
+            prices.put(type.getId(), type.getPrice());
+        }
+
+        Map<String, SectionLayout> layouts = new HashMap<>();
+        for (TheaterConfig config : delegate.getAllConfigs(theaterId)) {
+            if (config.getConfigKey().startsWith(SectionLayout.CONFIG_KEY_PREFIX)) {
+                layouts.put(config.getConfigKey().substring(SectionLayout.CONFIG_KEY_PREFIX.length()),
+                        SectionLayout.parse(config.getConfigValue()));
+            }
+        }
+        return new BestSeatFinder(inventory(theaterId), prices, layouts, preferences);
+    }
+
+    // Read from the primary: a lagging replica would leave the inventory stale until the next change
+    private TheaterInventory load(int theaterId) {
+        return ConnectionRouter.onPrimary(() -> {
+            TheaterInventory.Builder builder = TheaterInventory.builder(theaterId);
+            delegate.getAllSections(theaterId).forEach(builder::addSection);
+            delegate.getAllSeats(theaterId).forEach(builder::addSeat);
+            return builder.build();
+        });
+    }
+
+    // Theater management
+    @Override
+    public List<Theater> getAllTheaters() {
+        return delegate.getAllTheaters();
+    }
+
+    @Override
+    public Optional<Theater> getTheaterById(int theaterId) {
+        return delegate.getTheaterById(theaterId);
+    }
+
+    @Override
+    public Optional<Theater> getTheaterByName(String name) {
+        return delegate.getTheaterByName(name);
+    }
+
+    @Override
+    public int createTheater(String name, String location) {
+        return delegate.createTheater(name, location);
+    }
+
+    @Override
+    public boolean updateTheater(int theaterId, String name, String location) {
+        return delegate.updateTheater(theaterId, name, location);
+    }
+
+    @Override
+    public boolean deleteTheater(int theaterId) {
+        boolean deleted = delegate.deleteTheater(theaterId);
+        if (deleted) invalidate(theaterId);
+        return deleted;
+    }
+
+    // Seat type management
+    @Override
+    public List<SeatType> getAllSeatTypes(int theaterId) {
+        return delegate.getAllSeatTypes(theaterId);
+    }
+
+    @Override
+    public Optional<SeatType> getSeatTypeById(int id, int theaterId) {
+        return delegate.getSeatTypeById(id, theaterId);
+    }
+
+    @Override
+    public Optional<SeatType> getSeatTypeByName(String name, int theaterId) {
+        return delegate.getSeatTypeByName(name, theaterId);
+    }
+
+    @Override
+    public int createSeatType(String name, String description, double price, int theaterId) {
+        return delegate.createSeatType(name, description, price, theaterId);
+    }
+
+    @Override
+    public boolean updateSeatType(int id, int theaterId, String name, String description, double price) {
+        return delegate.updateSeatType(id, theaterId, name, description, price);
+    }
+
+    @Override
+    public boolean deleteSeatType(int id, int theaterId) {
+        return delegate.deleteSeatType(id, theaterId);
+    }
+
+    // Section management - every change to a section reshapes the inventory
+    @Override
+    public List<Section> getAllSections(int theaterId) {
+        return delegate.getAllSections(theaterId);
+    }
+
+    @Override
+    public List<Section> getActiveSections(int theaterId) {
+        return delegate.getActiveSections(theaterId);
+    }
+
+    @Override
+    public Optional<Section> getSectionByName(String name, int theaterId) {
+        return delegate.getSectionByName(name, theaterId);
+    }
+
+    @Override
+    public int createSection(int theaterId, String name, int seatTypeId, int rows, int seatsPerRow, String description) {
+        int id = delegate.createSection(theaterId, name, seatTypeId, rows, seatsPerRow, description);
+        invalidate(theaterId);
+        return id;
+    }
+
+    @Override
+    public boolean updateSection(String name, int theaterId, int rows, int seatsPerRow, int seatTypeId) {
+        boolean updated = delegate.updateSection(name, theaterId, rows, seatsPerRow, seatTypeId);
+        invalidate(theaterId);
+        return updated;
+    }
+
+    @Override
+    public boolean deactivateSection(String name, int theaterId) {
+        boolean updated = delegate.deactivateSection(name, theaterId);
+        invalidate(theaterId);
+        return updated;
+    }
+
+    @Override
+    public boolean activateSection(String name, int theaterId) {
+        boolean updated = delegate.activateSection(name, theaterId);
+        invalidate(theaterId);
+        return updated;
+    }
+
+    @Override
+    public int generateSeatsForSection(String sectionName, int theaterId) {
+        int count = delegate.generateSeatsForSection(sectionName, theaterId);
+        invalidate(theaterId);
+        return count;
+    }
+
+    // Seat management - reads come from memory
+    @Override
+    public List<Seat> getSeatsBySection(String sectionName, int theaterId) {
+        return inventory(theaterId).seatsBySection(sectionName, null);
+    }
+
+    @Override
+    public List<Seat> getAvailableSeatsBySection(String sectionName, int theaterId) {
+        return inventory(theaterId).seatsBySection(sectionName, SeatStatus.AVAILABLE);
+    }
+
+    @Override
+    public List<Seat> getAvailableSeatsByRow(String sectionName, int row, int theaterId) {
+        return inventory(theaterId).seatsByRow(sectionName, row, SeatStatus.AVAILABLE);
+    }
+
+    @Override
+    public List<Integer> getRowsWithAvailableSeats(String sectionName, int theaterId) {
+        return inventory(theaterId).rowsWithAvailableSeats(sectionName);
+    }
+
+    @Override
+    public Optional<Seat> getSeatByCode(String seatCode, int theaterId) {
+        return inventory(theaterId).seat(seatCode);
+    }
+
+    @Override
+    public boolean bookSeat(String seatCode, int theaterId, String customerName, String customerEmail, String customerPhone) {
+        return createBooking(seatCode, theaterId, customerName, customerEmail, customerPhone).isPresent();
+    }
+
+    @Override
+    public Optional<BookingConfirmation> createBooking(String seatCode, int theaterId, String customerName,
+                                                       String customerEmail, String customerPhone) {
+        Optional<BookingConfirmation> confirmation =
+                delegate.createBooking(seatCode, theaterId, customerName, customerEmail, customerPhone);
+        if (confirmation.isPresent()) {
+            inventory(theaterId).setStatus(seatCode, SeatStatus.RESERVED);
+        } else {
+            refreshSeat(seatCode, theaterId);
+        }
+        return confirmation;
+    }
+
+    // Seats already known to be taken are refused without a database round trip
+    @Override
+    public Optional<SeatHold> holdSeat(String seatCode, int theaterId, int ttlSeconds) {
+        if (!inventory(theaterId).isAvailable(seatCode)) return Optional.empty();
+
+        Optional<SeatHold> hold = delegate.holdSeat(seatCode, theaterId, ttlSeconds);
+        if (hold.isPresent()) {
+            inventory(theaterId).setStatus(seatCode, SeatStatus.HELD);
+        } else {
+            refreshSeat(seatCode, theaterId);
+        }
+        return hold;
+    }
+
+    @Override
+    public Optional<BookingConfirmation> bookHeldSeat(SeatHold hold, String customerName,
+                                                      String customerEmail, String customerPhone) {
+        Optional<BookingConfirmation> confirmation =
+                delegate.bookHeldSeat(hold, customerName, customerEmail, customerPhone);
+        if (confirmation.isPresent()) {
+            inventory(hold.theaterId()).setStatus(hold.seatCode(), SeatStatus.RESERVED);
+        } else {
+            refreshSeat(hold.seatCode(), hold.theaterId());
+        }
+        return confirmation;
+    }
+
+    @Override
+    public int releaseHolds(List<SeatHold> holds) {
+        int released = delegate.releaseHolds(holds);
+        for (SeatHold hold : holds) {
+            if (released == holds.size()) {
+                TheaterInventory inventory = inventories.get(hold.theaterId());
+                if (inventory != null) inventory.setStatus(hold.seatCode(), SeatStatus.AVAILABLE);
+            } else {
+                refreshSeat(hold.seatCode(), hold.theaterId());   // some holds had already ended
+            }
+        }
+        return released;
+    }
+
+    @Override
+    public int releaseExpiredHolds() {
+        int released = delegate.releaseExpiredHolds();
+        if (released > 0) inventories.clear();
+        return released;
+    }
+
+    @Override
+    public List<BookingConfirmation> bookSeats(List<String> seatCodes, int theaterId, String customerName,
+                                               String customerEmail, String customerPhone) {
+        List<BookingConfirmation> bookings =
+                delegate.bookSeats(seatCodes, theaterId, customerName, customerEmail, customerPhone);
+        if (bookings.isEmpty()) {
+            seatCodes.forEach(code -> refreshSeat(code, theaterId));
+        } else {
+            TheaterInventory inventory = inventory(theaterId);
+            bookings.forEach(b -> inventory.setStatus(b.seatCode(), SeatStatus.RESERVED));
+        }
+        return bookings;
+    }
+
+    @Override
+    public List<Seat> getAllAvailableSeats(int theaterId) {
+        return inventory(theaterId).seatsInActiveSections(SeatStatus.AVAILABLE);
+    }
+
+    @Override
+    public List<Seat> getAllBookedSeats(int theaterId) {
+        return inventory(theaterId).seatsInActiveSections(SeatStatus.RESERVED);
+    }
+
+    @Override
+    public int streamSeats(int theaterId, SeatStatus status, Consumer<Seat> sink) {
+        return inventory(theaterId).forEachSeatInActiveSections(status, sink);
+    }
+
+    @Override
+    public int streamSeatRowSummaries(int theaterId, SeatStatus status, Consumer<SeatRowSummary> sink) {
+        return inventory(theaterId).forEachRowSummary(status, sink);
+    }
+
+    @Override
+    public List<Seat> getAllSeats(int theaterId) {
+        return delegate.getAllSeats(theaterId);
+    }
+
+    // Booking management
+    @Override
+    public List<Booking> getAllBookings(int theaterId) {
+        return delegate.getAllBookings(theaterId);
+    }
+
+    @Override
+    public BookingPage getBookingsPage(int theaterId, BookingPage.Cursor after, int pageSize) {
+        return delegate.getBookingsPage(theaterId, after, pageSize);
+    }
+
+    @Override
+    public int streamBookings(int theaterId, Consumer<Booking> sink) {
+        return delegate.streamBookings(theaterId, sink);
+    }
+
+    @Override
+    public BookingPage getBookingsPageAllTheaters(BookingPage.Cursor after, int pageSize) {
+        return delegate.getBookingsPageAllTheaters(after, pageSize);
+    }
+
+    @Override
+    public int streamBookingsAllTheaters(Consumer<Booking> sink) {
+        return delegate.streamBookingsAllTheaters(sink);
+    }
+
+    @Override
+    public Optional<Booking> getBookingById(int id, int theaterId) {
+        return delegate.getBookingById(id, theaterId);
+    }
+
+    @Override
+    public boolean cancelBooking(int bookingId, int theaterId) {
+        Optional<Booking> booking = delegate.getBookingById(bookingId, theaterId);
+        boolean cancelled = delegate.cancelBooking(bookingId, theaterId);
+        if (cancelled && booking.isPresent()) {
+            inventory(theaterId).setStatus(booking.get().getSeatCode(), SeatStatus.AVAILABLE);
+        }
+        return cancelled;
+    }
+
+    // Configuration management
+    @Override
+    public List<TheaterConfig> getAllConfigs(int theaterId) {
+        return delegate.getAllConfigs(theaterId);
+    }
+
+    @Override
+    public Optional<TheaterConfig> getConfigByKey(String key, int theaterId) {
+        return delegate.getConfigByKey(key, theaterId);
+    }
+
+    @Override
+    public boolean updateConfig(String key, String value, int theaterId) {
+        return delegate.updateConfig(key, value, theaterId);
+    }
+
+    @Override
+    public boolean saveConfig(String key, String value, String description, int theaterId) {
+        return delegate.saveConfig(key, value, description, theaterId);
+    }
+
+    // Statistics - seat counts come from memory, revenue from the database
+    @Override
+    public int getTotalSeats(int theaterId) {
+        return inventory(theaterId).count(null);
+    }
+
+    @Override
+    public int getAvailableSeatsCount(int theaterId) {
+        return inventory(theaterId).count(SeatStatus.AVAILABLE);
+    }
+
+    @Override
+    public int getBookedSeatsCount(int theaterId) {
+        return inventory(theaterId).count(SeatStatus.RESERVED);
+    }
+
+    @Override
+    public double getTotalRevenue(int theaterId) {
+        return delegate.getTotalRevenue(theaterId);
+    }
+
+    @Override
+    public TheaterStatistics getTheaterStatistics(int theaterId) {
+        return delegate.getTheaterStatistics(theaterId);
+    }
+
+    @Override
+    public int getTotalSeatsAllTheaters() {
+        return delegate.getTotalSeatsAllTheaters();
+    }
+
+    @Override
+    public int getAvailableSeatsCountAllTheaters() {
+        return delegate.getAvailableSeatsCountAllTheaters();
+    }
+
+    @Override
+    public int getBookedSeatsCountAllTheaters() {
+        return delegate.getBookedSeatsCountAllTheaters();
+    }
+
+    @Override
+    public double getTotalRevenueAllTheaters() {
+        return delegate.getTotalRevenueAllTheaters();
+    }
+
+    @Override
+    public OccupancyReport getOccupancyReport() {
+        return delegate.getOccupancyReport();
+    }
+
+    @Override
+    public List<Booking> getAllBookingsAllTheaters() {
+        return delegate.getAllBookingsAllTheaters();
+    }
+
+    @Override
+    public Optional<Section> getSectionByNameAndTheater(String name, int theaterId) {
+        return delegate.getSectionByNameAndTheater(name, theaterId);
+    }
+
+    @Override
+    public int createSection(String name, int theaterId, int seatTypeId, int rows, int seatsPerRow, String description) {
+        int id = delegate.createSection(name, theaterId, seatTypeId, rows, seatsPerRow, description);
+        invalidate(theaterId);
+        return id;
+    }
+
+    // A failed write means memory and database disagree on this seat; take the database's word for it
+    private void refreshSeat(String seatCode, int theaterId) {
+        TheaterInventory inventory = inventories.get(theaterId);
+        if (inventory == null) return;
+
+        Optional<Seat> current = delegate.getSeatByCode(seatCode, theaterId);
+        if (current.isEmpty()) {
+            if (inventory.seat(seatCode).isPresent()) invalidate(theaterId);
+            return;
+        }
+        if (!inventory.setStatus(seatCode, SeatStatus.valueOf(current.get().getStatus()))) {
+            invalidate(theaterId);
+        }
+    }
+}
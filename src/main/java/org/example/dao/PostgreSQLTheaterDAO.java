@@ -1,11 +1,16 @@
 package org.example.dao;
 
-import org.example.config.DatabaseConfig;
 import org.example.config.TheaterConfig;
 import org.example.model.*;
 
 import java.sql.*;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Consumer;
+
+import static org.example.dao.SqlStatement.*;
 
 public class PostgreSQLTheaterDAO implements TheaterDAO {
 
@@ -21,8 +26,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
         FROM theaters
         ORDER BY name
         """;
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_ALL_THEATERS.prepare(conn, sql);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
@@ -42,8 +47,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public Optional<Theater> getTheaterById(int theaterId) {
         String sql = "SELECT * FROM theaters WHERE id = ?";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_THEATER_BY_ID.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             ResultSet rs = stmt.executeQuery();
@@ -62,8 +67,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public int createTheater(String name, String location) {
         String sql = "INSERT INTO theaters (name, location) VALUES (?, ?) RETURNING id";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = CREATE_THEATER.prepare(conn, sql)) {
 
             stmt.setString(1, name);
             stmt.setString(2, location);
@@ -84,8 +89,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public boolean updateTheater(int theaterId, String name, String location) {
         String sql = "UPDATE theaters SET name = ?, location = ? WHERE id = ?";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = UPDATE_THEATER.prepare(conn, sql)) {
 
             stmt.setString(1, name);
             stmt.setString(2, location);
@@ -103,8 +108,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public boolean deleteTheater(int theaterId) {
         String sql = "DELETE FROM theaters WHERE id = ? AND NOT EXISTS (SELECT 1 FROM sections WHERE theater_id = ?)";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = DELETE_THEATER.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             stmt.setInt(2, theaterId);
@@ -123,8 +128,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
         List<SeatType> seatTypes = new ArrayList<>();
         String sql = "SELECT * FROM seat_types WHERE theater_id = ? ORDER BY name";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_ALL_SEAT_TYPES.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             ResultSet rs = stmt.executeQuery();
@@ -143,8 +148,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public Optional<SeatType> getSeatTypeById(int id, int theaterId) {
         String sql = "SELECT * FROM seat_types WHERE id = ? AND theater_id = ?";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_SEAT_TYPE_BY_ID.prepare(conn, sql)) {
 
             stmt.setInt(1, id);
             stmt.setInt(2, theaterId);
@@ -164,8 +169,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public Optional<SeatType> getSeatTypeByName(String name, int theaterId) {
         String sql = "SELECT * FROM seat_types WHERE name = ?";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_SEAT_TYPE_BY_NAME.prepare(conn, sql)) {
 
             stmt.setString(1, name);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -194,8 +199,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
         RETURNING id
         """;
 
-        try ( Connection conn = DatabaseConfig.getDataSource().getConnection();
-              PreparedStatement stmt = conn.prepareStatement(sql) ) {
+        try ( Connection conn = ConnectionRouter.write();
+              PreparedStatement stmt = CREATE_SEAT_TYPE.prepare(conn, sql) ) {
 
             stmt.setString(1, name);
             stmt.setString(2, description);
@@ -218,8 +223,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public boolean updateSeatType(int id, int theaterId, String name, String description, double price) {
         String sql = "UPDATE seat_types SET name = ?, description = ?, price = ? WHERE id = ? AND theater_id = ?";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = UPDATE_SEAT_TYPE.prepare(conn, sql)) {
 
             stmt.setString(1, name);
             stmt.setString(2, description);
@@ -239,8 +244,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public boolean deleteSeatType(int id, int theaterId) {
         String sql = "DELETE FROM seat_types WHERE id = ? AND theater_id = ? AND NOT EXISTS (SELECT 1 FROM sections WHERE seat_type_id = ?)";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = DELETE_SEAT_TYPE.prepare(conn, sql)) {
 
             stmt.setInt(1, id);
             stmt.setInt(2, theaterId);
@@ -266,8 +271,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             ORDER BY s.name
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_ALL_SECTIONS.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             ResultSet rs = stmt.executeQuery();
@@ -293,8 +298,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             ORDER BY s.name
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_ACTIVE_SECTIONS.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             ResultSet rs = stmt.executeQuery();
@@ -318,8 +323,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             WHERE s.name = ? AND s.theater_id = ?
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_SECTION_BY_NAME.prepare(conn, sql)) {
 
             stmt.setString(1, name);
             stmt.setInt(2, theaterId);
@@ -339,8 +344,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public int createSection(int theaterId, String name, int seatTypeId, int rows, int seatsPerRow, String description) {
         String sql = "INSERT INTO sections (theater_id, name, seat_type_id, rows, seats_per_row, description) VALUES (?, ?, ?, ?, ?, ?) RETURNING id";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = CREATE_SECTION.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             stmt.setString(2, name);
@@ -370,8 +375,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public boolean updateSection(String name, int theaterId, int rows, int seatsPerRow, int seatTypeId) {
         String sql = "SELECT update_section_config(?, ?, ?, ?, (SELECT name FROM seat_types WHERE id = ? AND theater_id = ?))";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = UPDATE_SECTION.prepare(conn, sql)) {
 
             stmt.setString(1, name);
             stmt.setInt(2, theaterId);
@@ -392,8 +397,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public boolean deactivateSection(String name, int theaterId) {
         String sql = "UPDATE sections SET is_active = false WHERE name = ? AND theater_id = ?";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = DEACTIVATE_SECTION.prepare(conn, sql)) {
 
             stmt.setString(1, name);
             stmt.setInt(2, theaterId);
@@ -409,8 +414,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public boolean activateSection(String name, int theaterId) {
         String sql = "UPDATE sections SET is_active = true WHERE name = ? AND theater_id = ?";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = ACTIVATE_SECTION.prepare(conn, sql)) {
 
             stmt.setString(1, name);
             stmt.setInt(2, theaterId);
@@ -425,8 +430,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     @Override
     public int generateSeatsForSection(String sectionName, int theaterId) {
         String sql = "SELECT generate_seats_for_section(?)";
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = GENERATE_SEATS_FOR_SECTION.prepare(conn, sql)) {
             stmt.setString(1, sectionName);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -451,8 +456,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             ORDER BY s.row_number, s.seat_number
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_SEATS_BY_SECTION.prepare(conn, sql)) {
 
             stmt.setString(1, sectionName);
             stmt.setInt(2, theaterId);
@@ -478,8 +483,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             ORDER BY s.row_number, s.seat_number
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_AVAILABLE_SEATS_BY_SECTION.prepare(conn, sql)) {
 
             stmt.setString(1, sectionName);
             stmt.setInt(2, theaterId);
@@ -505,8 +510,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             ORDER BY s.seat_number
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_AVAILABLE_SEATS_BY_ROW.prepare(conn, sql)) {
 
             stmt.setString(1, sectionName);
             stmt.setInt(2, theaterId);
@@ -523,6 +528,33 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
         return seats;
     }
 
+    @Override
+    public List<Integer> getRowsWithAvailableSeats(String sectionName, int theaterId) {
+        List<Integer> rows = new ArrayList<>();
+        String sql = """
+            SELECT DISTINCT s.row_number FROM seats s
+            JOIN sections sec ON s.section_id = sec.id
+            WHERE sec.name = ? AND sec.theater_id = ? AND s.status = 'AVAILABLE' AND s.is_active = true
+            ORDER BY s.row_number
+            """;
+
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_ROWS_WITH_AVAILABLE_SEATS.prepare(conn, sql)) {
+
+            stmt.setString(1, sectionName);
+            stmt.setInt(2, theaterId);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                rows.add(rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error fetching rows with available seats", e);
+        }
+
+        return rows;
+    }
+
     @Override
     public Optional<Seat> getSeatByCode(String seatCode, int theaterId) {
         String sql = """
@@ -531,8 +563,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             WHERE s.seat_code = ? AND sec.theater_id = ?
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_SEAT_BY_CODE.prepare(conn, sql)) {
 
             stmt.setString(1, seatCode);
             stmt.setInt(2, theaterId);
@@ -550,55 +582,171 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
 
     @Override
     public boolean bookSeat(String seatCode, int theaterId, String customerName, String customerEmail, String customerPhone) {
-        String updateSeatSQL = """
-            UPDATE seats SET status = 'RESERVED' 
-            FROM sections sec 
-            WHERE seats.section_id = sec.id 
-              AND seats.seat_code = ? 
-              AND sec.theater_id = ? 
-              AND seats.status = 'AVAILABLE' 
-              AND seats.is_active = true
-            """;
-        String insertBookingSQL = """
-            INSERT INTO bookings (seat_id, customer_name, customer_email, customer_phone, total_price) 
-            SELECT s.id, ?, ?, ?, st.price 
-            FROM seats s 
-            JOIN sections sec ON s.section_id = sec.id
-            JOIN seat_types st ON s.seat_type_id = st.id 
-            WHERE s.seat_code = ? AND sec.theater_id = ?
-            """;
+        return createBooking(seatCode, theaterId, customerName, customerEmail, customerPhone).isPresent();
+    }
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
-            // Update seat status
-            try (PreparedStatement updateStmt = conn.prepareStatement(updateSeatSQL)) {
-                updateStmt.setString(1, seatCode);
-                updateStmt.setInt(2, theaterId);
-                int updated = updateStmt.executeUpdate();
+    @Override
+    public Optional<BookingConfirmation> createBooking(String seatCode, int theaterId, String customerName,
+                                                       String customerEmail, String customerPhone) {
+        return book(BOOK_SEAT, SQL_BOOK_SEAT, seatCode, theaterId, customerName, customerEmail, customerPhone);
+    }
 
-                if (updated == 0) {
-                    conn.rollback();
-                    return false; // Seat not available
+    @Override
+    public Optional<BookingConfirmation> bookHeldSeat(SeatHold hold, String customerName,
+                                                      String customerEmail, String customerPhone) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = BOOK_HELD_SEAT.prepare(conn, SQL_BOOK_HELD_SEAT)) {
+
+            stmt.setInt(1, hold.seatId());
+            stmt.setObject(2, OffsetDateTime.ofInstant(hold.expiresAt(), ZoneOffset.UTC));
+            stmt.setInt(3, hold.theaterId());
+            stmt.setString(4, customerName);
+            stmt.setString(5, customerEmail);
+            stmt.setString(6, customerPhone);
+            stmt.setInt(7, hold.theaterId());
+
+            Optional<BookingConfirmation> confirmation = Optional.empty();
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    confirmation = Optional.of(new BookingConfirmation(
+                            rs.getInt("id"), rs.getInt("seat_id"), hold.seatCode(), rs.getDouble("total_price")));
                 }
             }
 
-            // Insert booking record
-            try (PreparedStatement insertStmt = conn.prepareStatement(insertBookingSQL)) {
-                insertStmt.setString(1, customerName);
-                insertStmt.setString(2, customerEmail);
-                insertStmt.setString(3, customerPhone);
-                insertStmt.setString(4, seatCode);
-                insertStmt.setInt(5, theaterId);
-                insertStmt.executeUpdate();
+            conn.commit();
+            return confirmation; // empty when the hold has expired or was released
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Error booking held seat", e);
+        }
+    }
+
+    // Claim, price and insert in one statement
+    private Optional<BookingConfirmation> book(SqlStatement statement, String sql, String seatCode, int theaterId,
+                                               String customerName, String customerEmail, String customerPhone) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = statement.prepare(conn, sql)) {
+
+            stmt.setString(1, seatCode);
+            stmt.setInt(2, theaterId);
+            stmt.setString(3, customerName);
+            stmt.setString(4, customerEmail);
+            stmt.setString(5, customerPhone);
+            stmt.setInt(6, theaterId);
+
+            Optional<BookingConfirmation> confirmation = Optional.empty();
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    confirmation = Optional.of(new BookingConfirmation(
+                            rs.getInt("id"), rs.getInt("seat_id"), seatCode, rs.getDouble("total_price")));
+                }
             }
 
             conn.commit();
-            return true;
+            return confirmation; // empty when the seat is not in the expected status
 
         } catch (SQLException e) {
             throw new RuntimeException("Error booking seat", e);
         }
     }
 
+    @Override
+    public Optional<SeatHold> holdSeat(String seatCode, int theaterId, int ttlSeconds) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = HOLD_SEAT.prepare(conn, SQL_HOLD_SEAT)) {
+
+            stmt.setInt(1, ttlSeconds);
+            stmt.setString(2, seatCode);
+            stmt.setInt(3, theaterId);
+
+            Optional<SeatHold> hold = Optional.empty();
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    hold = Optional.of(new SeatHold(rs.getInt("id"), seatCode, theaterId,
+                            rs.getTimestamp("held_until").toInstant()));
+                }
+            }
+            conn.commit();
+            return hold;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Error holding seat", e);
+        }
+    }
+
+    @Override
+    public int releaseHolds(List<SeatHold> holds) {
+        if (holds.isEmpty()) return 0;
+
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = RELEASE_HOLDS.prepare(conn, SQL_RELEASE_HOLDS)) {
+
+            stmt.setArray(1, conn.createArrayOf("integer", holds.stream().map(SeatHold::seatId).toArray()));
+            stmt.setArray(2, conn.createArrayOf("text", holds.stream().map(h -> h.expiresAt().toString()).toArray()));
+            int released = stmt.executeUpdate();
+            conn.commit();
+            return released;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Error releasing seat holds", e);
+        }
+    }
+
+    @Override
+    public int releaseExpiredHolds() {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = RELEASE_EXPIRED_HOLDS.prepare(conn, SQL_RELEASE_EXPIRED_HOLDS)) {
+
+            int released = stmt.executeUpdate();
+            conn.commit();
+            return released;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Error releasing expired seat holds", e);
+        }
+    }
+
+    /**
+     * Books every seat or none. All seat rows are locked in id order in the same
+     * statement that claims and books them, so concurrent groups cannot deadlock.
+     * Returns an empty list when any seat is unknown or already taken.
+     */
+    @Override
+    public List<BookingConfirmation> bookSeats(List<String> seatCodes, int theaterId, String customerName,
+                                               String customerEmail, String customerPhone) {
+        Set<String> requested = new LinkedHashSet<>(seatCodes);
+        List<BookingConfirmation> bookings = new ArrayList<>();
+        if (requested.isEmpty()) return bookings;
+
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = BOOK_SEATS.prepare(conn, SQL_BOOK_SEATS)) {
+
+            stmt.setArray(1, conn.createArrayOf("text", requested.toArray()));
+            stmt.setInt(2, theaterId);
+            stmt.setString(3, customerName);
+            stmt.setString(4, customerEmail);
+            stmt.setString(5, customerPhone);
+            stmt.setInt(6, theaterId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    bookings.add(new BookingConfirmation(rs.getInt("id"), rs.getInt("seat_id"),
+                            rs.getString("seat_code"), rs.getDouble("total_price")));
+                }
+            }
+
+            if (bookings.size() != requested.size()) {
+                conn.rollback();
+                return new ArrayList<>();
+            }
+            conn.commit();
+            return bookings;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Error booking seats", e);
+        }
+    }
+
     @Override
     public List<Seat> getAllAvailableSeats(int theaterId) {
         List<Seat> seats = new ArrayList<>();
@@ -609,8 +757,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             ORDER BY sec.name, s.row_number, s.seat_number
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_ALL_AVAILABLE_SEATS.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             ResultSet rs = stmt.executeQuery();
@@ -635,8 +783,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             ORDER BY sec.name, s.row_number, s.seat_number
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_ALL_BOOKED_SEATS.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             ResultSet rs = stmt.executeQuery();
@@ -651,6 +799,62 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
         return seats;
     }
 
+    @Override
+    public int streamSeats(int theaterId, SeatStatus status, Consumer<Seat> sink) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = STREAM_SEATS.prepare(conn, SQL_STREAM_SEATS)) {
+
+            stmt.setInt(1, theaterId);
+            stmt.setString(2, status.name());
+            return stream(stmt, this::mapSeat, sink);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error streaming seats", e);
+        }
+    }
+
+    @Override
+    public int streamSeatRowSummaries(int theaterId, SeatStatus status, Consumer<SeatRowSummary> sink) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = SEAT_ROW_SUMMARIES.prepare(conn, SQL_SEAT_ROW_SUMMARIES)) {
+
+            stmt.setInt(1, theaterId);
+            stmt.setString(2, status.name());
+            return stream(stmt, rs -> new SeatRowSummary(
+                    rs.getString("section_name"),
+                    rs.getInt("row_number"),
+                    rs.getInt("seats"),
+                    rs.getString("ranges")), sink);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error summarising seats by row", e);
+        }
+    }
+
+    @Override
+    public List<Seat> getAllSeats(int theaterId) {
+        List<Seat> seats = new ArrayList<>();
+        String sql = """
+            SELECT s.* FROM seats s
+            JOIN sections sec ON s.section_id = sec.id
+            WHERE sec.theater_id = ?
+            ORDER BY s.section_id, s.row_number, s.seat_number
+            """;
+
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_ALL_SEATS.prepare(conn, sql)) {
+
+            stmt.setInt(1, theaterId);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                seats.add(mapSeat(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error fetching seats for theater", e);
+        }
+
+        return seats;
+    }
+
     // Booking Management
     @Override
     public List<Booking> getAllBookings(int theaterId) {
@@ -664,8 +868,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             ORDER BY b.booking_time DESC
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_ALL_BOOKINGS.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             ResultSet rs = stmt.executeQuery();
@@ -680,6 +884,39 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
         return bookings;
     }
 
+    @Override
+    public BookingPage getBookingsPage(int theaterId, BookingPage.Cursor after, int pageSize) {
+        SqlStatement statement = after == null ? BOOKINGS_FIRST_PAGE : BOOKINGS_PAGE_AFTER;
+        String sql = after == null ? SQL_BOOKINGS_FIRST_PAGE : SQL_BOOKINGS_PAGE_AFTER;
+
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = statement.prepare(conn, sql)) {
+
+            int i = 1;
+            stmt.setInt(i++, theaterId);
+            if (after != null) {
+                stmt.setTimestamp(i++, Timestamp.valueOf(after.bookingTime()));
+                stmt.setInt(i++, after.bookingId());
+            }
+            stmt.setInt(i, pageSize + 1);               // one extra row tells whether there is a next page
+            return readPage(stmt, pageSize);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error fetching bookings page", e);
+        }
+    }
+
+    @Override
+    public int streamBookings(int theaterId, Consumer<Booking> sink) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = STREAM_BOOKINGS.prepare(conn, SQL_STREAM_BOOKINGS)) {
+
+            stmt.setInt(1, theaterId);
+            return stream(stmt, this::mapBooking, sink);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error streaming bookings", e);
+        }
+    }
+
     @Override
     public Optional<Booking> getBookingById(int id, int theaterId) {
         String sql = """
@@ -690,8 +927,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             WHERE b.id = ? AND sec.theater_id = ?
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_BOOKING_BY_ID.prepare(conn, sql)) {
 
             stmt.setInt(1, id);
             stmt.setInt(2, theaterId);
@@ -719,10 +956,10 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
         String deleteBookingSQL = "DELETE FROM bookings WHERE id = ?";
         String updateSeatSQL = "UPDATE seats SET status = 'AVAILABLE' WHERE id = ?";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+        try (Connection conn = ConnectionRouter.write()) {
             // First get the seat_id
             int seatId;
-            try (PreparedStatement getSeatStmt = conn.prepareStatement(getSeatIdSQL)) {
+            try (PreparedStatement getSeatStmt = CANCEL_BOOKING_FIND_SEAT.prepare(conn, getSeatIdSQL)) {
                 getSeatStmt.setInt(1, bookingId);
                 getSeatStmt.setInt(2, theaterId);
                 ResultSet rs = getSeatStmt.executeQuery();
@@ -734,7 +971,7 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             }
 
             // Delete the booking
-            try (PreparedStatement deleteStmt = conn.prepareStatement(deleteBookingSQL)) {
+            try (PreparedStatement deleteStmt = CANCEL_BOOKING_DELETE.prepare(conn, deleteBookingSQL)) {
                 deleteStmt.setInt(1, bookingId);
                 int deleted = deleteStmt.executeUpdate();
                 if (deleted == 0) {
@@ -744,7 +981,7 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             }
 
             // Update seat status
-            try (PreparedStatement updateSeatStmt = conn.prepareStatement(updateSeatSQL)) {
+            try (PreparedStatement updateSeatStmt = CANCEL_BOOKING_FREE_SEAT.prepare(conn, updateSeatSQL)) {
                 updateSeatStmt.setInt(1, seatId);
                 updateSeatStmt.executeUpdate();
             }
@@ -763,8 +1000,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
         List<TheaterConfig> configs = new ArrayList<>();
         String sql = "SELECT * FROM theater_config WHERE theater_id = ? ORDER BY config_key";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_ALL_CONFIGS.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             ResultSet rs = stmt.executeQuery();
@@ -783,8 +1020,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public Optional<TheaterConfig> getConfigByKey(String key, int theaterId) {
         String sql = "SELECT * FROM theater_config WHERE config_key = ? AND theater_id = ?";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_CONFIG_BY_KEY.prepare(conn, sql)) {
 
             stmt.setString(1, key);
             stmt.setInt(2, theaterId);
@@ -809,8 +1046,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
         FROM theaters
         WHERE name = ?
         """;
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_THEATER_BY_NAME.prepare(conn, sql)) {
 
             stmt.setString(1, name);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -832,8 +1069,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public boolean updateConfig(String key, String value, int theaterId) {
         String sql = "UPDATE theater_config SET config_value = ?, updated_at = CURRENT_TIMESTAMP WHERE config_key = ? AND theater_id = ?";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = UPDATE_CONFIG.prepare(conn, sql)) {
 
             stmt.setString(1, value);
             stmt.setString(2, key);
@@ -847,6 +1084,35 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
         }
     }
 
+    @Override
+    public boolean saveConfig(String key, String value, String description, int theaterId) {
+        String updateSql = "UPDATE theater_config SET config_value = ?, updated_at = CURRENT_TIMESTAMP WHERE config_key = ? AND theater_id = ?";
+        String insertSql = "INSERT INTO theater_config (theater_id, config_key, config_value, description) VALUES (?, ?, ?, ?)";
+
+        try (Connection conn = ConnectionRouter.write()) {
+            int saved;
+            try (PreparedStatement stmt = SAVE_CONFIG_UPDATE.prepare(conn, updateSql)) {
+                stmt.setString(1, value);
+                stmt.setString(2, key);
+                stmt.setInt(3, theaterId);
+                saved = stmt.executeUpdate();
+            }
+            if (saved == 0) {
+                try (PreparedStatement stmt = SAVE_CONFIG_INSERT.prepare(conn, insertSql)) {
+                    stmt.setInt(1, theaterId);
+                    stmt.setString(2, key);
+                    stmt.setString(3, value);
+                    stmt.setString(4, description);
+                    saved = stmt.executeUpdate();
+                }
+            }
+            conn.commit();
+            return saved > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error saving configuration", e);
+        }
+    }
+
     // Statistics - Theater-specific
     @Override
     public int getTotalSeats(int theaterId) {
@@ -856,8 +1122,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             WHERE sec.theater_id = ? AND s.is_active = true
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_TOTAL_SEATS.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             ResultSet rs = stmt.executeQuery();
@@ -880,8 +1146,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             WHERE sec.theater_id = ? AND s.status = 'AVAILABLE' AND s.is_active = true
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_AVAILABLE_SEATS_COUNT.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             ResultSet rs = stmt.executeQuery();
@@ -904,8 +1170,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             WHERE sec.theater_id = ? AND s.status = 'RESERVED' AND s.is_active = true
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_BOOKED_SEATS_COUNT.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             ResultSet rs = stmt.executeQuery();
@@ -929,8 +1195,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             WHERE sec.theater_id = ? AND b.status = 'CONFIRMED'
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_TOTAL_REVENUE.prepare(conn, sql)) {
 
             stmt.setInt(1, theaterId);
             ResultSet rs = stmt.executeQuery();
@@ -945,13 +1211,36 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
         return 0.0;
     }
 
+    @Override
+    public TheaterStatistics getTheaterStatistics(int theaterId) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = THEATER_STATISTICS.prepare(conn, SQL_THEATER_STATISTICS)) {
+
+            stmt.setInt(1, theaterId);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                return new TheaterStatistics(
+                        theaterId,
+                        rs.getInt("total_seats"),
+                        rs.getInt("available_seats"),
+                        rs.getInt("booked_seats"),
+                        rs.getDouble("total_revenue"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error getting theater statistics", e);
+        }
+
+        return new TheaterStatistics(theaterId, 0, 0, 0, 0);
+    }
+
     // Statistics - Cross-theater
     @Override
     public int getTotalSeatsAllTheaters() {
         String sql = "SELECT COUNT(*) FROM seats WHERE is_active = true";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_TOTAL_SEATS_ALL_THEATERS.prepare(conn, sql);
              ResultSet rs = stmt.executeQuery()) {
 
             if (rs.next()) {
@@ -968,8 +1257,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public int getAvailableSeatsCountAllTheaters() {
         String sql = "SELECT COUNT(*) FROM seats WHERE status = 'AVAILABLE' AND is_active = true";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_AVAILABLE_SEATS_COUNT_ALL_THEATERS.prepare(conn, sql);
              ResultSet rs = stmt.executeQuery()) {
 
             if (rs.next()) {
@@ -986,8 +1275,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public int getBookedSeatsCountAllTheaters() {
         String sql = "SELECT COUNT(*) FROM seats WHERE status = 'RESERVED' AND is_active = true";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_BOOKED_SEATS_COUNT_ALL_THEATERS.prepare(conn, sql);
              ResultSet rs = stmt.executeQuery()) {
 
             if (rs.next()) {
@@ -1004,8 +1293,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public double getTotalRevenueAllTheaters() {
         String sql = "SELECT COALESCE(SUM(total_price), 0) FROM bookings WHERE status = 'CONFIRMED'";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_TOTAL_REVENUE_ALL_THEATERS.prepare(conn, sql);
              ResultSet rs = stmt.executeQuery()) {
 
             if (rs.next()) {
@@ -1027,8 +1316,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
          WHERE s.name = ?
            AND s.theater_id = ?
         """;
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_SECTION_BY_NAME_AND_THEATER.prepare(conn, sql)) {
 
             stmt.setString(1, name);
             stmt.setInt   (2, theaterId);
@@ -1045,6 +1334,118 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     }
 
 
+    @Override
+    public BookingPage getBookingsPageAllTheaters(BookingPage.Cursor after, int pageSize) {
+        SqlStatement statement = after == null ? ALL_BOOKINGS_FIRST_PAGE : ALL_BOOKINGS_PAGE_AFTER;
+        String sql = after == null ? SQL_ALL_BOOKINGS_FIRST_PAGE : SQL_ALL_BOOKINGS_PAGE_AFTER;
+
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = statement.prepare(conn, sql)) {
+
+            int i = 1;
+            if (after != null) {
+                stmt.setTimestamp(i++, Timestamp.valueOf(after.bookingTime()));
+                stmt.setInt(i++, after.bookingId());
+            }
+            stmt.setInt(i, pageSize + 1);
+            return readPage(stmt, pageSize);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error fetching bookings page for all theaters", e);
+        }
+    }
+
+    @Override
+    public int streamBookingsAllTheaters(Consumer<Booking> sink) {
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = STREAM_ALL_BOOKINGS.prepare(conn, SQL_STREAM_ALL_BOOKINGS)) {
+
+            return stream(stmt, this::mapBooking, sink);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error streaming bookings for all theaters", e);
+        }
+    }
+
+    private BookingPage readPage(PreparedStatement stmt, int pageSize) throws SQLException {
+        List<Booking> bookings = new ArrayList<>(pageSize);
+        boolean more = false;
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                if (bookings.size() == pageSize) {
+                    more = true;
+                    break;
+                }
+                bookings.add(mapBooking(rs));
+            }
+        }
+        BookingPage.Cursor next = more ? BookingPage.Cursor.after(bookings.get(bookings.size() - 1)) : null;
+        return new BookingPage(bookings, next);
+    }
+
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Hands rows to the sink as they arrive. The pool's connections do not auto-commit,
+     * so the driver reads through a server-side cursor STREAM_FETCH_SIZE rows at a time
+     * instead of buffering the whole result.
+     */
+    private <T> int stream(PreparedStatement stmt, RowMapper<T> mapper, Consumer<T> sink) throws SQLException {
+        stmt.setFetchSize(STREAM_FETCH_SIZE);
+        int count = 0;
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                sink.accept(mapper.map(rs));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public OccupancyReport getOccupancyReport() {
+        OccupancyReport.Totals total = OccupancyReport.Totals.EMPTY;
+        Map<Integer, String> theaterNames = new LinkedHashMap<>();
+        Map<Integer, OccupancyReport.Totals> theaterTotals = new HashMap<>();
+        Map<Integer, List<OccupancyReport.SectionTotals>> sections = new HashMap<>();
+
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = OCCUPANCY_REPORT.prepare(conn, SQL_OCCUPANCY_REPORT);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                OccupancyReport.Totals totals = new OccupancyReport.Totals(
+                        rs.getInt("total_seats"),
+                        rs.getInt("available_seats"),
+                        rs.getInt("booked_seats"),
+                        rs.getInt("bookings"),
+                        rs.getDouble("revenue"));
+
+                switch (rs.getInt("grouping_level")) {
+                    case 0 -> {
+                        String sectionName = rs.getString("section_name");
+                        if (sectionName != null) {       // theaters without sections still get a row
+                            sections.computeIfAbsent(rs.getInt("theater_id"), id -> new ArrayList<>())
+                                    .add(new OccupancyReport.SectionTotals(sectionName, totals));
+                        }
+                    }
+                    case 1 -> {
+                        theaterNames.put(rs.getInt("theater_id"), rs.getString("theater_name"));
+                        theaterTotals.put(rs.getInt("theater_id"), totals);
+                    }
+                    default -> total = totals;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error building occupancy report", e);
+        }
+
+        List<OccupancyReport.TheaterTotals> theaters = new ArrayList<>(theaterNames.size());
+        theaterNames.forEach((id, name) -> theaters.add(new OccupancyReport.TheaterTotals(
+                id, name, theaterTotals.get(id), List.copyOf(sections.getOrDefault(id, List.of())))));
+        return new OccupancyReport(Instant.now(), total, List.copyOf(theaters));
+    }
+
     @Override
     public List<Booking> getAllBookingsAllTheaters() {
         List<Booking> bookings = new ArrayList<>();
@@ -1055,8 +1456,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
             ORDER BY b.booking_time DESC
             """;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = ConnectionRouter.read();
+             PreparedStatement stmt = GET_ALL_BOOKINGS_ALL_THEATERS.prepare(conn, sql);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
@@ -1082,8 +1483,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
         VALUES (?, ?, ?, ?, ?, ?)
         RETURNING id
         """;
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionRouter.write();
+             PreparedStatement stmt = CREATE_SECTION_BY_NAME.prepare(conn, sql)) {
 
             stmt.setString(1, name);
             stmt.setInt   (2, theaterId);
@@ -1129,8 +1530,8 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
 
     private Section mapSection(ResultSet rs) throws SQLException {
         return new Section(
-                rs.getInt("id"),
                 rs.getInt("theater_id"),
+                rs.getInt("id"),
                 rs.getString("name"),
                 rs.getInt("seat_type_id"),
                 rs.getString("seat_type_name"),
@@ -1192,6 +1593,137 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
         RETURNING seats.id, seats.seat_type_id
         """;
 
+    public static final String SQL_CLAIM_SEATS = """
+        UPDATE seats
+        SET status = 'RESERVED'
+        FROM sections sec
+        WHERE seats.section_id = sec.id
+          AND seats.seat_code = ANY(?)     -- 1: text[]
+          AND sec.theater_id = ?           -- 2
+          AND seats.status = 'AVAILABLE'
+          AND seats.is_active = true
+        RETURNING seats.id, seats.seat_code, seats.seat_type_id
+        """;
+
+    // Claims the seat and inserts its booking in one round trip; no row when the seat is not available
+    public static final String SQL_BOOK_SEAT = """
+        WITH claimed AS (
+          UPDATE seats
+          SET status = 'RESERVED'
+          FROM sections sec
+          WHERE seats.section_id = sec.id
+            AND seats.seat_code = ?        -- 1
+            AND sec.theater_id = ?         -- 2
+            AND seats.status = 'AVAILABLE'
+            AND seats.is_active = true
+          RETURNING seats.id, seats.seat_type_id
+        )
+        INSERT INTO bookings
+          (seat_id, customer_name, customer_email, customer_phone, total_price)
+        SELECT c.id, ?, ?, ?, COALESCE(st.price, 0)                              -- 3, 4, 5
+        FROM claimed c
+        LEFT JOIN seat_types st ON st.id = c.seat_type_id AND st.theater_id = ?   -- 6
+        RETURNING id, seat_id, total_price
+        """;
+
+    // Same as SQL_BOOK_SEAT, for one unexpired hold: held_until identifies the hold, so a seat
+    // that expired and was held again by someone else is not booked
+    public static final String SQL_BOOK_HELD_SEAT = """
+        WITH claimed AS (
+          UPDATE seats
+          SET status = 'RESERVED', held_until = NULL
+          FROM sections sec
+          WHERE seats.section_id = sec.id
+            AND seats.id = ?                         -- 1
+            AND seats.held_until = ?                 -- 2: timestamptz
+            AND sec.theater_id = ?                   -- 3
+            AND seats.status = 'HELD'
+            AND seats.held_until > CURRENT_TIMESTAMP
+            AND seats.is_active = true
+          RETURNING seats.id, seats.seat_type_id
+        )
+        INSERT INTO bookings
+          (seat_id, customer_name, customer_email, customer_phone, total_price)
+        SELECT c.id, ?, ?, ?, COALESCE(st.price, 0)                              -- 4, 5, 6
+        FROM claimed c
+        LEFT JOIN seat_types st ON st.id = c.seat_type_id AND st.theater_id = ?   -- 7
+        RETURNING id, seat_id, total_price
+        """;
+
+    public static final String SQL_HOLD_SEAT = """
+        UPDATE seats
+        SET status = 'HELD', held_until = CURRENT_TIMESTAMP + ? * INTERVAL '1 second'   -- 1
+        FROM sections sec
+        WHERE seats.section_id = sec.id
+          AND seats.seat_code = ?          -- 2
+          AND sec.theater_id = ?           -- 3
+          AND seats.status = 'AVAILABLE'
+          AND seats.is_active = true
+        RETURNING seats.id, seats.held_until
+        """;
+
+    // Releases exactly the given holds, matched on seat and held_until
+    public static final String SQL_RELEASE_HOLDS = """
+        UPDATE seats
+        SET status = 'AVAILABLE', held_until = NULL
+        FROM unnest(?::integer[], ?::timestamptz[]) AS h(seat_id, held_until)   -- 1: integer[], 2: text[] of instants
+        WHERE seats.id = h.seat_id
+          AND seats.held_until = h.held_until
+          AND seats.status = 'HELD'
+        """;
+
+    // Holds left behind by a process that stopped before releasing them
+    public static final String SQL_RELEASE_EXPIRED_HOLDS = """
+        UPDATE seats
+        SET status = 'AVAILABLE', held_until = NULL
+        WHERE status = 'HELD'
+          AND held_until < CURRENT_TIMESTAMP
+        """;
+
+    // Locks the available seats in id order, then claims and books them; the caller rolls back a partial group
+    public static final String SQL_BOOK_SEATS = """
+        WITH locked AS (
+          SELECT s.id
+          FROM seats s
+          JOIN sections sec ON s.section_id = sec.id
+          WHERE s.seat_code = ANY(?)       -- 1: text[]
+            AND sec.theater_id = ?         -- 2
+            AND s.status = 'AVAILABLE'
+            AND s.is_active = true
+          ORDER BY s.id
+          FOR UPDATE OF s
+        ),
+        claimed AS (
+          UPDATE seats
+          SET status = 'RESERVED'
+          FROM locked
+          WHERE seats.id = locked.id
+          RETURNING seats.id, seats.seat_code, seats.seat_type_id
+        ),
+        inserted AS (
+          INSERT INTO bookings
+            (seat_id, customer_name, customer_email, customer_phone, total_price)
+          SELECT c.id, ?, ?, ?, COALESCE(st.price, 0)                              -- 3, 4, 5
+          FROM claimed c
+          LEFT JOIN seat_types st ON st.id = c.seat_type_id AND st.theater_id = ?   -- 6
+          RETURNING id, seat_id, total_price
+        )
+        SELECT i.id, i.seat_id, c.seat_code, i.total_price
+        FROM inserted i
+        JOIN claimed c ON c.id = i.seat_id
+        ORDER BY c.seat_code
+        """;
+
+    // Sums the shard rows 003_theater_stats.sql keeps for the theater; at most 16 rows by primary key
+    public static final String SQL_THEATER_STATISTICS = """
+        SELECT COALESCE(SUM(total_seats), 0)     AS total_seats,
+               COALESCE(SUM(available_seats), 0) AS available_seats,
+               COALESCE(SUM(booked_seats), 0)    AS booked_seats,
+               COALESCE(SUM(total_revenue), 0)   AS total_revenue
+        FROM theater_stats
+        WHERE theater_id = ?
+        """;
+
     public static final String SQL_INSERT_BOOKING = """
         INSERT INTO bookings
           (seat_id, customer_name, customer_email, customer_phone, total_price, status)
@@ -1202,4 +1734,136 @@ public class PostgreSQLTheaterDAO implements TheaterDAO {
     public static final String SQL_SEAT_TYPE_PRICE = """
         SELECT price FROM seat_types WHERE id = ? AND theater_id = ?
         """;
-}
\ No newline at end of file
+
+    public static final String SQL_SEAT_TYPE_PRICES = """
+        SELECT id, price FROM seat_types WHERE id = ANY(?) AND theater_id = ?
+        """;
+
+    // Sections, theaters and the grand total in one pass. grouping_level is 0 for a section row,
+    // 1 for a theater row and 3 for the grand total; seats and bookings are pre-aggregated per
+    // section so the rollup only adds up one row per section.
+    public static final String SQL_OCCUPANCY_REPORT = """
+        WITH seat_counts AS (
+          SELECT section_id,
+                 COUNT(*)                                     AS total_seats,
+                 COUNT(*) FILTER (WHERE status = 'AVAILABLE') AS available_seats,
+                 COUNT(*) FILTER (WHERE status = 'RESERVED')  AS booked_seats
+          FROM seats
+          WHERE is_active = true
+          GROUP BY section_id
+        ),
+        section_revenue AS (
+          SELECT s.section_id, COUNT(*) AS bookings, SUM(b.total_price) AS revenue
+          FROM bookings b
+          JOIN seats s ON s.id = b.seat_id
+          WHERE b.status = 'CONFIRMED'
+          GROUP BY s.section_id
+        )
+        SELECT GROUPING(t.id, sec.id)               AS grouping_level,
+               t.id                                 AS theater_id,
+               t.name                               AS theater_name,
+               sec.name                             AS section_name,
+               COALESCE(SUM(sc.total_seats), 0)     AS total_seats,
+               COALESCE(SUM(sc.available_seats), 0) AS available_seats,
+               COALESCE(SUM(sc.booked_seats), 0)    AS booked_seats,
+               COALESCE(SUM(r.bookings), 0)         AS bookings,
+               COALESCE(SUM(r.revenue), 0)          AS revenue
+        FROM theaters t
+        LEFT JOIN sections sec ON sec.theater_id = t.id
+        LEFT JOIN seat_counts sc ON sc.section_id = sec.id
+        LEFT JOIN section_revenue r ON r.section_id = sec.id
+        GROUP BY GROUPING SETS ((t.id, t.name, sec.id, sec.name), (t.id, t.name), ())
+        ORDER BY t.name, t.id, sec.name
+        """;
+
+    public static final int STREAM_FETCH_SIZE = 500;
+
+    // Keyset pagination, newest first. The (booking_time, id) row comparison continues after the
+    // previous page's last booking and is served by idx_bookings_time_id, so every page costs the same.
+    public static final String SQL_BOOKINGS_FIRST_PAGE = """
+        SELECT b.*, s.seat_code
+        FROM bookings b
+        JOIN seats s ON b.seat_id = s.id
+        JOIN sections sec ON s.section_id = sec.id
+        WHERE sec.theater_id = ?
+        ORDER BY b.booking_time DESC, b.id DESC
+        LIMIT ?
+        """;
+
+    public static final String SQL_BOOKINGS_PAGE_AFTER = """
+        SELECT b.*, s.seat_code
+        FROM bookings b
+        JOIN seats s ON b.seat_id = s.id
+        JOIN sections sec ON s.section_id = sec.id
+        WHERE sec.theater_id = ?
+          AND (b.booking_time, b.id) < (?, ?)
+        ORDER BY b.booking_time DESC, b.id DESC
+        LIMIT ?
+        """;
+
+    public static final String SQL_ALL_BOOKINGS_FIRST_PAGE = """
+        SELECT b.*, s.seat_code
+        FROM bookings b
+        JOIN seats s ON b.seat_id = s.id
+        ORDER BY b.booking_time DESC, b.id DESC
+        LIMIT ?
+        """;
+
+    public static final String SQL_ALL_BOOKINGS_PAGE_AFTER = """
+        SELECT b.*, s.seat_code
+        FROM bookings b
+        JOIN seats s ON b.seat_id = s.id
+        WHERE (b.booking_time, b.id) < (?, ?)
+        ORDER BY b.booking_time DESC, b.id DESC
+        LIMIT ?
+        """;
+
+    public static final String SQL_STREAM_BOOKINGS = """
+        SELECT b.*, s.seat_code
+        FROM bookings b
+        JOIN seats s ON b.seat_id = s.id
+        JOIN sections sec ON s.section_id = sec.id
+        WHERE sec.theater_id = ?
+        ORDER BY b.booking_time DESC, b.id DESC
+        """;
+
+    public static final String SQL_STREAM_ALL_BOOKINGS = """
+        SELECT b.*, s.seat_code
+        FROM bookings b
+        JOIN seats s ON b.seat_id = s.id
+        ORDER BY b.booking_time DESC, b.id DESC
+        """;
+
+    public static final String SQL_STREAM_SEATS = """
+        SELECT s.* FROM seats s
+        JOIN sections sec ON s.section_id = sec.id
+        WHERE sec.theater_id = ? AND s.status = ? AND s.is_active = true AND sec.is_active = true
+        ORDER BY sec.name, s.row_number, s.seat_number
+        """;
+
+    // Gaps and islands: within a row, seat_number minus its rank is constant along a run of
+    // adjacent seats, so grouping by it yields one range per run.
+    public static final String SQL_SEAT_ROW_SUMMARIES = """
+        WITH matching AS (
+          SELECT sec.name AS section_name, s.row_number, s.seat_number,
+                 s.seat_number - ROW_NUMBER() OVER (PARTITION BY s.section_id, s.row_number
+                                                    ORDER BY s.seat_number) AS island
+          FROM seats s
+          JOIN sections sec ON s.section_id = sec.id
+          WHERE sec.theater_id = ? AND s.status = ? AND s.is_active = true AND sec.is_active = true
+        ),
+        runs AS (
+          SELECT section_name, row_number,
+                 MIN(seat_number) AS first_seat, MAX(seat_number) AS last_seat, COUNT(*) AS seats
+          FROM matching
+          GROUP BY section_name, row_number, island
+        )
+        SELECT section_name, row_number, SUM(seats) AS seats,
+               string_agg(CASE WHEN first_seat = last_seat THEN first_seat::text
+                               ELSE first_seat || '-' || last_seat END,
+                          ', ' ORDER BY first_seat) AS ranges
+        FROM runs
+        GROUP BY section_name, row_number
+        ORDER BY section_name, row_number
+        """;
+}
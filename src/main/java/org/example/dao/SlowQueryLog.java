@@ -0,0 +1,152 @@
+package org.example.dao;
+
+import org.example.config.DatabaseConfig;
+import org.example.config.Settings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Optional slow-statement log. When slowQuery.thresholdMs is set, every execution of a
+ * registered {@link SqlStatement} that takes longer is written with its bind values to a
+ * rotating file (slowQuery.file, slowQuery.fileLimitMiB, slowQuery.fileCount).
+ *
+ * The first slow execution of each statement also gets its plan captured in the same file,
+ * in the background on a separate primary connection: EXPLAIN (ANALYZE, BUFFERS) for statements
+ * marked {@link SqlStatement#isReadOnly read-only}, plain EXPLAIN for everything else, since
+ * ANALYZE would run it. The capture runs in a transaction that is always rolled back, with a
+ * statement timeout.
+ */
+public final class SlowQueryLog {
+    private static final int MAX_BIND_LENGTH = 200;
+
+    private SlowQueryLog() {}
+
+    // Only initialised by the first prepared statement, once DatabaseConfig is up anyway
+    private static final class Config {
+        static final Settings SETTINGS = DatabaseConfig.getSettings();
+        static final long THRESHOLD_NANOS = SETTINGS.getLong("slowQuery.thresholdMs", 0) * 1_000_000L;
+        static final boolean EXPLAIN = Boolean.parseBoolean(SETTINGS.get("slowQuery.explain", "true"));
+        static final int EXPLAIN_TIMEOUT_MS = SETTINGS.getInt("slowQuery.explainTimeoutMs", 30_000);
+        static final String FILE = SETTINGS.get("slowQuery.file", "logs/slow-queries.%g.log");
+        static final Logger LOG = THRESHOLD_NANOS > 0 ? openLog() : null;
+    }
+
+    private static final Set<SqlStatement> explained = ConcurrentHashMap.newKeySet();
+    private static final ExecutorService explainer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread t = new Thread(runnable, "slow-query-explain");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Repeats one bind call on the EXPLAIN statement, e.g. setInt(1, 42). */
+    @FunctionalInterface
+    interface Replay {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    /** A bound parameter: the value as logged, and how to bind it again. */
+    record Bind(Object value, Replay replay) {}
+
+    public static boolean enabled() {
+        return Config.LOG != null;
+    }
+
+    static long thresholdNanos() {
+        return Config.THRESHOLD_NANOS;
+    }
+
+    /** Logs one slow execution; binds are by parameter index. */
+    static void record(SqlStatement statement, String sql, Map<Integer, Bind> binds, long nanos, boolean batch) {
+        StringJoiner values = new StringJoiner(", ", "[", "]");
+        binds.forEach((index, bind) -> values.add(index + "=" + format(bind.value())));
+        Config.LOG.info(String.format("SLOW %.1f ms %s%s %s", nanos / 1e6, statement, batch ? " (last row of batch)" : "",
+                values));
+
+        if (explained.add(statement)) {
+            System.err.printf("Slow statement %s (%.0f ms), details in %s%n", statement, nanos / 1e6, Config.FILE);
+            if (Config.EXPLAIN) {
+                Map<Integer, Bind> copy = Map.copyOf(binds);
+                explainer.execute(() -> explain(statement, sql, copy));
+            }
+        }
+    }
+
+    private static void explain(SqlStatement statement, String sql, Map<Integer, Bind> binds) {
+        boolean analyze = statement.isReadOnly();
+        String explain = (analyze ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ") + sql;
+        StringJoiner plan = new StringJoiner("\n  ", "PLAN " + statement + (analyze ? " (analyze)" : "") + "\n  " + sql.strip()
+                + "\n  ", "");
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            try (Statement timeout = conn.createStatement()) {
+                timeout.execute("SET LOCAL statement_timeout = " + Config.EXPLAIN_TIMEOUT_MS);
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(explain)) {
+                for (Bind bind : binds.values()) {
+                    bind.replay().bind(stmt);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) plan.add(rs.getString(1));
+                }
+            } finally {
+                conn.rollback();
+            }
+            Config.LOG.info(plan.toString());
+        } catch (SQLException e) {
+            Config.LOG.log(Level.WARNING, "PLAN " + statement + " could not be captured: " + e.getMessage());
+        }
+    }
+
+    private static String format(Object value) {
+        if (value == null) return "NULL";
+        if (!(value instanceof CharSequence)) return value.toString();
+        String text = value.toString();
+        if (text.length() > MAX_BIND_LENGTH) text = text.substring(0, MAX_BIND_LENGTH) + "...";
+        return "'" + text.replace("'", "''") + "'";
+    }
+
+    private static Logger openLog() {
+        String file = Config.FILE;
+        try {
+            Path dir = Path.of(file).toAbsolutePath().getParent();
+            if (dir != null) Files.createDirectories(dir);
+
+            FileHandler handler = new FileHandler(file,
+                    Config.SETTINGS.getInt("slowQuery.fileLimitMiB", 10) * 1024 * 1024,
+                    Config.SETTINGS.getInt("slowQuery.fileCount", 5), true);
+            handler.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord record) {
+                    return Instant.ofEpochMilli(record.getMillis()) + " " + record.getMessage() + System.lineSeparator();
+                }
+            });
+
+            Logger logger = Logger.getLogger("org.example.slowquery");
+            logger.setUseParentHandlers(false);
+            logger.addHandler(handler);
+            return logger;
+        } catch (IOException e) {
+            System.err.println("Slow-query log disabled, cannot open " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of every statement the DAO layer prepares, so each one has a stable name for
+ * monitoring. Preparing through {@link #prepare} counts how often a statement is prepared
+ * and executed; batch loops that prepare once and execute many times are counted per execute.
+ *
+ * The SQL text stays next to the code that binds its parameters. Because the text of a given
+ * statement never changes, the driver's per-connection statement cache (see DatabaseConfig)
+ * recognises it and reuses the server-side prepared statement and plan.
+ */
+public enum SqlStatement {
+    // Theaters
+    GET_ALL_THEATERS, GET_THEATER_BY_ID, GET_THEATER_BY_NAME, CREATE_THEATER, UPDATE_THEATER, DELETE_THEATER,
+
+    // Seat types
+    GET_ALL_SEAT_TYPES, GET_SEAT_TYPE_BY_ID, GET_SEAT_TYPE_BY_NAME, CREATE_SEAT_TYPE, UPDATE_SEAT_TYPE,
+    DELETE_SEAT_TYPE, SEAT_TYPE_PRICE, SEAT_TYPE_PRICES,
+
+    // Sections
+    GET_ALL_SECTIONS, GET_ACTIVE_SECTIONS, GET_SECTION_BY_NAME, GET_SECTION_BY_NAME_AND_THEATER,
+    CREATE_SECTION, CREATE_SECTION_BY_NAME, UPDATE_SECTION, DEACTIVATE_SECTION, ACTIVATE_SECTION,
+    GENERATE_SEATS_FOR_SECTION, APPLY_SECTIONS, GENERATE_SEATS,
+
+    // Seats
+    GET_SEATS_BY_SECTION, GET_AVAILABLE_SEATS_BY_SECTION, GET_AVAILABLE_SEATS_BY_ROW,
+    GET_ROWS_WITH_AVAILABLE_SEATS, GET_SEAT_BY_CODE, GET_ALL_AVAILABLE_SEATS, GET_ALL_BOOKED_SEATS,
+    GET_ALL_SEATS, STREAM_SEATS, SEAT_ROW_SUMMARIES,
+
+    // Bookings and holds
+    BOOK_SEAT, BOOK_HELD_SEAT, BOOK_SEATS, CLAIM_SEAT, CLAIM_SEATS, INSERT_BOOKING, APPLY_BOOKINGS,
+    HOLD_SEAT, RELEASE_HOLDS, RELEASE_EXPIRED_HOLDS,
+    GET_ALL_BOOKINGS, GET_ALL_BOOKINGS_ALL_THEATERS, GET_BOOKING_BY_ID,
+    BOOKINGS_FIRST_PAGE, BOOKINGS_PAGE_AFTER, ALL_BOOKINGS_FIRST_PAGE, ALL_BOOKINGS_PAGE_AFTER,
+    STREAM_BOOKINGS, STREAM_ALL_BOOKINGS,
+    CANCEL_BOOKING_FIND_SEAT, CANCEL_BOOKING_DELETE, CANCEL_BOOKING_FREE_SEAT,
+
+    // Configuration
+    GET_ALL_CONFIGS, GET_CONFIG_BY_KEY, UPDATE_CONFIG, SAVE_CONFIG_UPDATE, SAVE_CONFIG_INSERT,
+
+    // Statistics
+    GET_TOTAL_SEATS, GET_AVAILABLE_SEATS_COUNT, GET_BOOKED_SEATS_COUNT, GET_TOTAL_REVENUE, THEATER_STATISTICS,
+    GET_TOTAL_SEATS_ALL_THEATERS, GET_AVAILABLE_SEATS_COUNT_ALL_THEATERS, GET_BOOKED_SEATS_COUNT_ALL_THEATERS,
+    GET_TOTAL_REVENUE_ALL_THEATERS, OCCUPANCY_REPORT;
+
+    public record Stats(SqlStatement statement, long prepares, long executions) {}
+
+    // Plain SELECTs that call no data-changing function; everything else is assumed to write
+    private static final Set<SqlStatement> READ_ONLY = EnumSet.of(
+            GET_ALL_THEATERS, GET_THEATER_BY_ID, GET_THEATER_BY_NAME,
+            GET_ALL_SEAT_TYPES, GET_SEAT_TYPE_BY_ID, GET_SEAT_TYPE_BY_NAME, SEAT_TYPE_PRICE, SEAT_TYPE_PRICES,
+            GET_ALL_SECTIONS, GET_ACTIVE_SECTIONS, GET_SECTION_BY_NAME, GET_SECTION_BY_NAME_AND_THEATER,
+            GET_SEATS_BY_SECTION, GET_AVAILABLE_SEATS_BY_SECTION, GET_AVAILABLE_SEATS_BY_ROW,
+            GET_ROWS_WITH_AVAILABLE_SEATS, GET_SEAT_BY_CODE, GET_ALL_AVAILABLE_SEATS, GET_ALL_BOOKED_SEATS,
+            GET_ALL_SEATS, STREAM_SEATS, SEAT_ROW_SUMMARIES,
+            GET_ALL_BOOKINGS, GET_ALL_BOOKINGS_ALL_THEATERS, GET_BOOKING_BY_ID,
+            BOOKINGS_FIRST_PAGE, BOOKINGS_PAGE_AFTER, ALL_BOOKINGS_FIRST_PAGE, ALL_BOOKINGS_PAGE_AFTER,
+            STREAM_BOOKINGS, STREAM_ALL_BOOKINGS, CANCEL_BOOKING_FIND_SEAT,
+            GET_ALL_CONFIGS, GET_CONFIG_BY_KEY,
+            GET_TOTAL_SEATS, GET_AVAILABLE_SEATS_COUNT, GET_BOOKED_SEATS_COUNT, GET_TOTAL_REVENUE, THEATER_STATISTICS,
+            GET_TOTAL_SEATS_ALL_THEATERS, GET_AVAILABLE_SEATS_COUNT_ALL_THEATERS, GET_BOOKED_SEATS_COUNT_ALL_THEATERS,
+            GET_TOTAL_REVENUE_ALL_THEATERS, OCCUPANCY_REPORT);
+
+    private final LongAdder prepares = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+
+    /**
+     * Prepares sql on conn as this statement; the result counts its executions here. With the
+     * slow-query log enabled it also remembers its bind values and times every execution.
+     */
+    public PreparedStatement prepare(Connection conn, String sql) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql);
+        prepares.increment();
+        return new CountingPreparedStatement(this, sql, stmt);
+    }
+
+    void countExecution() {
+        executions.increment();
+    }
+
+    /** True if running the statement cannot change data, so EXPLAIN ANALYZE of it is safe. */
+    public boolean isReadOnly() {
+        return READ_ONLY.contains(this);
+    }
+
+    /** Statements that have run since startup, most executed first. */
+    public static List<Stats> stats() {
+        List<Stats> stats = new ArrayList<>();
+        for (SqlStatement statement : values()) {
+            if (statement.prepares.sum() > 0) {
+                stats.add(new Stats(statement, statement.prepares.sum(), statement.executions.sum()));
+            }
+        }
+        stats.sort(Comparator.comparingLong(Stats::executions).reversed());
+        return stats;
+    }
+}
@@ -4,6 +4,7 @@ import org.example.config.TheaterConfig;
 import org.example.model.*;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TheaterDAO {
 
@@ -40,13 +41,25 @@ public interface TheaterDAO {
     List<Seat> getSeatsBySection(String sectionName, int theaterId);
     List<Seat> getAvailableSeatsBySection(String sectionName, int theaterId);
     List<Seat> getAvailableSeatsByRow(String sectionName, int row, int theaterId);
+    List<Integer> getRowsWithAvailableSeats(String sectionName, int theaterId);
     Optional<Seat> getSeatByCode(String seatCode, int theaterId);
     boolean bookSeat(String seatCode, int theaterId, String customerName, String customerEmail, String customerPhone);
+    Optional<BookingConfirmation> createBooking(String seatCode, int theaterId, String customerName, String customerEmail, String customerPhone);
+    Optional<SeatHold> holdSeat(String seatCode, int theaterId, int ttlSeconds);
+    Optional<BookingConfirmation> bookHeldSeat(SeatHold hold, String customerName, String customerEmail, String customerPhone);   // only this hold, before it expires
+    int releaseHolds(List<SeatHold> holds);   // only these holds; a seat held again since is left alone
+    int releaseExpiredHolds();
+    List<BookingConfirmation> bookSeats(List<String> seatCodes, int theaterId, String customerName, String customerEmail, String customerPhone);
     List<Seat> getAllAvailableSeats(int theaterId);
     List<Seat> getAllBookedSeats(int theaterId);
+    int streamSeats(int theaterId, SeatStatus status, Consumer<Seat> sink);                       // active sections only
+    int streamSeatRowSummaries(int theaterId, SeatStatus status, Consumer<SeatRowSummary> sink);  // one per row with matches
+    List<Seat> getAllSeats(int theaterId);
 
     // Booking management - updated with theaterId
     List<Booking> getAllBookings(int theaterId);
+    BookingPage getBookingsPage(int theaterId, BookingPage.Cursor after, int pageSize);   // after == null: first page
+    int streamBookings(int theaterId, Consumer<Booking> sink);                           // returns bookings streamed
     Optional<Booking> getBookingById(int id, int theaterId);
     boolean cancelBooking(int bookingId, int theaterId);
 
@@ -54,12 +67,14 @@ public interface TheaterDAO {
     List<TheaterConfig> getAllConfigs(int theaterId);
     Optional<TheaterConfig> getConfigByKey(String key, int theaterId);
     boolean updateConfig(String key, String value, int theaterId);
+    boolean saveConfig(String key, String value, String description, int theaterId);   // insert or update
 
     // Statistics - all methods now theater-specific
     int getTotalSeats(int theaterId);
     int getAvailableSeatsCount(int theaterId);
     int getBookedSeatsCount(int theaterId);
     double getTotalRevenue(int theaterId);
+    TheaterStatistics getTheaterStatistics(int theaterId);   // all four from the counters in one read
 
     // Additional cross-theater statistics methods
     int getTotalSeatsAllTheaters();
@@ -67,6 +82,9 @@ public interface TheaterDAO {
     int getBookedSeatsCountAllTheaters();
     double getTotalRevenueAllTheaters();
     List<Booking> getAllBookingsAllTheaters();
+    BookingPage getBookingsPageAllTheaters(BookingPage.Cursor after, int pageSize);
+    int streamBookingsAllTheaters(Consumer<Booking> sink);
+    OccupancyReport getOccupancyReport();   // every theater and section plus totals, one grouped query
     Optional<Section> getSectionByNameAndTheater(String name, int theaterId);
     int createSection(String name, int theaterId, int seatTypeId,
                       int rows, int seatsPerRow, String description);
@@ -0,0 +1,52 @@
+package org.example.dao;
+
+import org.example.metrics.DaoMetrics;
+import org.example.metrics.MethodMetrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every TheaterDAO call of the wrapped DAO into {@link DaoMetrics}. Meant to wrap
+ * PostgreSQLTheaterDAO directly, under the caches, so that it measures database work only;
+ * calls the DAO makes to itself are part of the outer call. For the stream* methods the
+ * time includes what the sink does with each element.
+ */
+public final class TimedTheaterDAO implements InvocationHandler {
+    private final TheaterDAO delegate;
+    private final Map<Method, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+    private TimedTheaterDAO(TheaterDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    public static TheaterDAO wrap(TheaterDAO delegate) {
+        return (TheaterDAO) Proxy.newProxyInstance(TheaterDAO.class.getClassLoader(),
+                new Class<?>[]{TheaterDAO.class}, new TimedTheaterDAO(delegate));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(delegate, args);
+        }
+
+        MethodMetrics methodMetrics = metrics.computeIfAbsent(method, m -> DaoMetrics.forMethod(m.getName()));
+        long acquireBefore = DaoMetrics.acquireNanos();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = method.invoke(delegate, args);
+            failed = false;
+            return result;
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            methodMetrics.record(System.nanoTime() - start, DaoMetrics.acquireNanos() - acquireBefore, failed);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.importer;
+
+import org.example.model.BookingRow;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Parallel booking import for a single large file.
+ *
+ *   parser thread -> one bounded queue per writer -> N writers -> stats aggregation
+ *
+ * The parser routes each row by its partition key (the seat's section), so all rows
+ * of a section go to the same writer and writers never contend for the same seat rows.
+ * Each writer holds its own pooled connection and imports chunks with BookingImporter's
+ * batch path. Full queues block the parser, which keeps memory bounded.
+ */
+public class BookingImportPipeline {
+    public static final int DEFAULT_QUEUE_CAPACITY = 4;   // chunks per writer
+
+    private static final List<BookingRow> END_OF_INPUT = List.of();
+
+    private final DataSource dataSource;
+    private final int theaterId;
+    private final int writers;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final ToIntFunction<String> partitionOfSeat;
+
+    /**
+     * @param partitionOfSeat maps a seat code to a partition key, normally the id of its section
+     */
+    public BookingImportPipeline(DataSource dataSource, int theaterId, int writers,
+                                 ToIntFunction<String> partitionOfSeat) {
+        this(dataSource, theaterId, writers, BookingImporter.DEFAULT_CHUNK_SIZE,
+                DEFAULT_QUEUE_CAPACITY, partitionOfSeat);
+    }
+
+    public BookingImportPipeline(DataSource dataSource, int theaterId, int writers, int chunkSize,
+                                 int queueCapacity, ToIntFunction<String> partitionOfSeat) {
+        if (writers < 1) throw new IllegalArgumentException("At least one writer is required");
+        this.dataSource = dataSource;
+        this.theaterId = theaterId;
+        this.writers = writers;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.partitionOfSeat = partitionOfSeat;
+    }
+
+    public ImportStats run(Iterator<BookingRow> rows) throws InterruptedException {
+        List<BlockingQueue<List<BookingRow>>> queues = new ArrayList<>(writers);
+        for (int i = 0; i < writers; i++) {
+            queues.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 1, runnable -> {
+            Thread t = new Thread(runnable, "booking-import");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            List<Future<ImportStats>> results = new ArrayList<>(writers);
+            for (BlockingQueue<List<BookingRow>> queue : queues) {
+                results.add(pool.submit(() -> write(queue)));
+            }
+            Future<Integer> parsed = pool.submit(() -> route(rows, queues));
+
+            // Stats aggregation: wait for the parser, then fold every writer's counts
+            int parseErrors = 0;
+            try {
+                parsed.get();
+            } catch (ExecutionException e) {
+                System.err.println("Parsing stopped early: " + e.getCause().getMessage());
+                parseErrors = 1;
+            }
+
+            ImportStats total = new ImportStats(0, 0, parseErrors);
+            for (Future<ImportStats> result : results) {
+                try {
+                    total = ImportStats.combine(total, result.get());
+                } catch (ExecutionException e) {
+                    System.err.println("Import writer failed: " + e.getCause().getMessage());
+                    total = ImportStats.combine(total, new ImportStats(0, 0, 1));
+                }
+            }
+            return total;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Parser stage: reads rows and hands full chunks to the owning writer's queue. */
+    private int route(Iterator<BookingRow> rows, List<BlockingQueue<List<BookingRow>>> queues)
+            throws InterruptedException {
+        List<List<BookingRow>> pending = new ArrayList<>(writers);
+        for (int i = 0; i < writers; i++) {
+            pending.add(new ArrayList<>(chunkSize));
+        }
+
+        int count = 0;
+        try {
+            while (rows.hasNext()) {
+                BookingRow row = rows.next();
+                int writer = Math.floorMod(partitionOfSeat.applyAsInt(row.seatCode()), writers);
+
+                List<BookingRow> chunk = pending.get(writer);
+                chunk.add(row);
+                count++;
+                if (chunk.size() == chunkSize) {
+                    queues.get(writer).put(chunk);
+                    pending.set(writer, new ArrayList<>(chunkSize));
+                }
+            }
+        } finally {
+            // Always release the writers, even if parsing failed
+            for (int i = 0; i < writers; i++) {
+                if (!pending.get(i).isEmpty()) {
+                    queues.get(i).put(pending.get(i));
+                }
+                queues.get(i).put(END_OF_INPUT);
+            }
+        }
+        return count;
+    }
+
+    /** Writer stage: imports chunks on a dedicated connection until the end marker arrives. */
+    private ImportStats write(BlockingQueue<List<BookingRow>> queue) throws InterruptedException {
+        BookingImporter importer = new BookingImporter(theaterId, chunkSize);
+        ImportStats stats = ImportStats.EMPTY;
+
+        Connection conn = null;
+        try {
+            conn = dataSource.getConnection();
+        } catch (SQLException e) {
+            System.err.println("Import writer could not get a connection: " + e.getMessage());
+        }
+
+        try {
+            while (true) {
+                List<BookingRow> chunk = queue.take();
+                if (chunk == END_OF_INPUT) {
+                    return stats;
+                }
+                if (conn == null) {
+                    // Keep draining so the parser is never blocked by a dead writer
+                    stats = ImportStats.combine(stats, new ImportStats(0, 0, chunk.size()));
+                    continue;
+                }
+                try {
+                    stats = ImportStats.combine(stats, importer.importChunk(conn, chunk));
+                } catch (SQLException e) {
+                    stats = ImportStats.combine(stats, new ImportStats(0, 0, chunk.size()));
+                } catch (RuntimeException e) {
+                    // Counted like a failed chunk; the writer keeps draining so the parser never blocks on put()
+                    System.err.println("Import writer failed on a chunk: " + e.getMessage());
+                    stats = ImportStats.combine(stats, new ImportStats(0, 0, chunk.size()));
+                    try {
+                        conn.rollback();
+                    } catch (SQLException ignored) {
+                    }
+                }
+            }
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.example.importer;
+
+import org.example.model.BookingRow;
+
+import java.sql.*;
+import java.util.*;
+
+import static org.example.dao.PostgreSQLTheaterDAO.*;
+import static org.example.dao.SqlStatement.*;
+
+/**
+ * Claims seats and inserts bookings for parsed booking rows of one theater.
+ *
+ * Row-by-row mode claims, prices and inserts each row in its own transaction.
+ * Batch mode handles a chunk of rows with one multi-row claim, one price lookup
+ * and one JDBC batch of inserts, committing once per chunk.
+ */
+public class BookingImporter {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final int theaterId;
+    private final int chunkSize;
+
+    public BookingImporter(int theaterId) {
+        this(theaterId, DEFAULT_CHUNK_SIZE);
+    }
+
+    public BookingImporter(int theaterId, int chunkSize) {
+        this.theaterId = theaterId;
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() { return chunkSize; }
+
+    public ImportStats importRowByRow(Connection conn, Iterable<BookingRow> rows) throws SQLException {
+        int created = 0, skipped = 0, errors = 0;
+
+        try (PreparedStatement claim = CLAIM_SEAT.prepare(conn, SQL_CLAIM_SEAT);
+             PreparedStatement priceQ = SEAT_TYPE_PRICE.prepare(conn, SQL_SEAT_TYPE_PRICE);
+             PreparedStatement ins = INSERT_BOOKING.prepare(conn, SQL_INSERT_BOOKING)) {
+
+            conn.setAutoCommit(false);
+
+            for (BookingRow r : rows) {
+                try {
+                    // 1) Claim seat atomically
+                    claim.setString(1, r.seatCode());
+                    claim.setInt(2, theaterId);
+                    ResultSet rs = claim.executeQuery();
+                    if (!rs.next()) {        // seat already reserved or not found
+                        skipped++;
+                        conn.rollback();
+                        continue;
+                    }
+
+                    int seatId     = rs.getInt("id");
+                    int seatTypeId = rs.getInt("seat_type_id");
+
+                    // 2) Determine price (override > look-up)
+                    double price = r.priceOverride();
+                    if (price == 0.0) {
+                        priceQ.setInt(1, seatTypeId);
+                        priceQ.setInt(2, theaterId);
+                        try (ResultSet pr = priceQ.executeQuery()) {
+                            if (pr.next()) price = pr.getDouble(1);
+                        }
+                    }
+
+                    // 3) Insert booking
+                    ins.setInt   (1, seatId);
+                    ins.setString(2, r.customerName());
+                    ins.setString(3, r.customerEmail());
+                    ins.setString(4, r.customerPhone());
+                    ins.setDouble(5, price);
+                    ins.executeUpdate();
+
+                    conn.commit();
+                    created++;
+
+                } catch (SQLException ex) {
+                    conn.rollback();
+                    errors++;
+                }
+            }
+        }
+        return new ImportStats(created, skipped, errors);
+    }
+
+    public ImportStats importBatched(Connection conn, List<BookingRow> rows) throws SQLException {
+        return importBatched(conn, rows.iterator());
+    }
+
+    /** Consumes rows chunk by chunk, so only one chunk is held in memory at a time. */
+    public ImportStats importBatched(Connection conn, Iterator<BookingRow> rows) throws SQLException {
+        conn.setAutoCommit(false);
+
+        ImportStats total = ImportStats.EMPTY;
+        List<BookingRow> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize) {
+                total = ImportStats.combine(total, importChunk(conn, chunk));
+                chunk.clear();
+            }
+        }
+        return ImportStats.combine(total, importChunk(conn, chunk));
+    }
+
+    /**
+     * Imports one chunk in a single transaction. If the chunk fails as a whole
+     * it is rolled back and replayed row by row, so the per-row counts stay exact.
+     */
+    public ImportStats importChunk(Connection conn, List<BookingRow> chunk) throws SQLException {
+        if (chunk.isEmpty()) return ImportStats.EMPTY;
+
+        try {
+            ImportStats stats = claimPriceAndInsert(conn, chunk);
+            conn.commit();
+            return stats;
+        } catch (SQLException ex) {
+            conn.rollback();
+            return importRowByRow(conn, chunk);
+        }
+    }
+
+    private ImportStats claimPriceAndInsert(Connection conn, List<BookingRow> chunk) throws SQLException {
+        // The first row for a seat code wins; later duplicates find the seat reserved
+        Map<String, BookingRow> bySeatCode = new LinkedHashMap<>();
+        for (BookingRow r : chunk) {
+            bySeatCode.putIfAbsent(r.seatCode(), r);
+        }
+
+        // 1) Claim every seat of the chunk in one statement
+        Map<String, int[]> claimed = new HashMap<>();        // seat code -> {seat id, seat type id}
+        try (PreparedStatement claim = CLAIM_SEATS.prepare(conn, SQL_CLAIM_SEATS)) {
+            claim.setArray(1, conn.createArrayOf("text", bySeatCode.keySet().toArray()));
+            claim.setInt(2, theaterId);
+            try (ResultSet rs = claim.executeQuery()) {
+                while (rs.next()) {
+                    claimed.put(rs.getString("seat_code"),
+                            new int[]{rs.getInt("id"), rs.getInt("seat_type_id")});
+                }
+            }
+        }
+
+        // 2) Resolve prices for rows without an override in one look-up
+        Set<Integer> seatTypeIds = new HashSet<>();
+        for (Map.Entry<String, int[]> e : claimed.entrySet()) {
+            if (bySeatCode.get(e.getKey()).priceOverride() == 0.0) {
+                seatTypeIds.add(e.getValue()[1]);
+            }
+        }
+        Map<Integer, Double> prices = new HashMap<>();
+        if (!seatTypeIds.isEmpty()) {
+            try (PreparedStatement priceQ = SEAT_TYPE_PRICES.prepare(conn, SQL_SEAT_TYPE_PRICES)) {
+                priceQ.setArray(1, conn.createArrayOf("integer", seatTypeIds.toArray()));
+                priceQ.setInt(2, theaterId);
+                try (ResultSet rs = priceQ.executeQuery()) {
+                    while (rs.next()) {
+                        prices.put(rs.getInt("id"), rs.getDouble("price"));
+                    }
+                }
+            }
+        }
+
+        // 3) Insert all bookings as one batch
+        int created = 0;
+        try (PreparedStatement ins = INSERT_BOOKING.prepare(conn, SQL_INSERT_BOOKING)) {
+            for (Map.Entry<String, BookingRow> e : bySeatCode.entrySet()) {
+                int[] seat = claimed.get(e.getKey());
+                if (seat == null) continue;
+
+                BookingRow r = e.getValue();
+                double price = r.priceOverride() != 0.0
+                        ? r.priceOverride()
+                        : prices.getOrDefault(seat[1], 0.0);
+
+                ins.setInt   (1, seat[0]);
+                ins.setString(2, r.customerName());
+                ins.setString(3, r.customerEmail());
+                ins.setString(4, r.customerPhone());
+                ins.setDouble(5, price);
+                ins.addBatch();
+                created++;
+            }
+            if (created > 0) {
+                ins.executeBatch();
+            }
+        }
+
+        return new ImportStats(created, chunk.size() - created, 0);
+    }
+}
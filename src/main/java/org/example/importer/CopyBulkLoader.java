@@ -0,0 +1,262 @@
+package org.example.importer;
+
+import org.example.dao.SqlStatement;
+import org.example.model.BookingRow;
+import org.example.model.SectionRow;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Bulk-load path for very large import files.
+ *
+ * Rows are streamed from the parser into a temporary staging table with COPY FROM STDIN and then
+ * applied with a single set-based statement. Booking claims use the same predicates
+ * as SQL_CLAIM_SEAT and insert the same columns as SQL_INSERT_BOOKING; sections are
+ * created the same way as the row-by-row section import.
+ */
+public class CopyBulkLoader {
+    /** Files with more rows than this use COPY unless the theater configures bulk_load_threshold. */
+    public static final int DEFAULT_ROW_THRESHOLD = 50_000;
+    public static final String THRESHOLD_CONFIG_KEY = "bulk_load_threshold";
+
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private static final String SQL_CREATE_BOOKING_STAGING = """
+        CREATE TEMP TABLE booking_import_staging (
+          line_no        integer,
+          seat_code      text,
+          customer_name  text,
+          customer_email text,
+          customer_phone text,
+          price_override numeric(10,2)
+        ) ON COMMIT DROP
+        """;
+
+    private static final String SQL_COPY_BOOKINGS = """
+        COPY booking_import_staging
+          (line_no, seat_code, customer_name, customer_email, customer_phone, price_override)
+        FROM STDIN WITH (FORMAT csv)
+        """;
+
+    // First line wins for a repeated seat code, as in the row-by-row import
+    private static final String SQL_APPLY_BOOKINGS = """
+        WITH candidates AS (
+          SELECT DISTINCT ON (seat_code) *
+          FROM booking_import_staging
+          ORDER BY seat_code, line_no
+        ),
+        claimed AS (
+          UPDATE seats
+          SET status = 'RESERVED'
+          FROM sections sec, candidates c
+          WHERE seats.section_id = sec.id
+            AND seats.seat_code = c.seat_code
+            AND sec.theater_id = ?           -- 1
+            AND seats.status = 'AVAILABLE'
+            AND seats.is_active = true
+          RETURNING seats.id, seats.seat_type_id, c.line_no
+        )
+        INSERT INTO bookings
+          (seat_id, customer_name, customer_email, customer_phone, total_price, status)
+        SELECT cl.id, c.customer_name, c.customer_email, c.customer_phone,
+               CASE WHEN c.price_override <> 0 THEN c.price_override ELSE COALESCE(st.price, 0) END,
+               'CONFIRMED'
+        FROM claimed cl
+        JOIN candidates c ON c.line_no = cl.line_no
+        LEFT JOIN seat_types st ON st.id = cl.seat_type_id AND st.theater_id = ?   -- 2
+        """;
+
+    private static final String SQL_CREATE_SECTION_STAGING = """
+        CREATE TEMP TABLE section_import_staging (
+          line_no      integer,
+          section_name text,
+          row_number   integer,
+          total_seats  integer,
+          seat_type    text
+        ) ON COMMIT DROP
+        """;
+
+    private static final String SQL_COPY_SECTIONS = """
+        COPY section_import_staging
+          (line_no, section_name, row_number, total_seats, seat_type)
+        FROM STDIN WITH (FORMAT csv)
+        """;
+
+    // Seat type is given either by id or by name; rows with unknown types or existing sections are skipped
+    private static final String SQL_APPLY_SECTIONS = """
+        WITH resolved AS (
+          SELECT DISTINCT ON (s.section_name || s.row_number)
+                 s.section_name || s.row_number AS name,
+                 s.section_name, s.row_number, s.total_seats, st.id AS seat_type_id
+          FROM section_import_staging s
+          JOIN seat_types st
+            ON st.theater_id = ?             -- 1
+           AND CASE WHEN s.seat_type ~ '^[0-9]+$'
+                    THEN st.id = s.seat_type::integer
+                    ELSE st.name = s.seat_type END
+          ORDER BY s.section_name || s.row_number, s.line_no
+        )
+        INSERT INTO sections (theater_id, name, seat_type_id, rows, seats_per_row, description)
+        SELECT ?, r.name, r.seat_type_id, 1, r.total_seats,   -- 2
+               'Imported row ' || r.row_number || ' of section ' || r.section_name
+        FROM resolved r
+        WHERE NOT EXISTS (
+          SELECT 1 FROM sections x WHERE x.name = r.name AND x.theater_id = ?   -- 3
+        )
+        RETURNING name
+        """;
+
+    private static final String SQL_GENERATE_SEATS = """
+        SELECT generate_seats_for_section(name) FROM unnest(?) AS name
+        """;
+
+    private final int theaterId;
+
+    public CopyBulkLoader(int theaterId) {
+        this.theaterId = theaterId;
+    }
+
+    public ImportStats loadBookings(Connection conn, Iterator<BookingRow> rows) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(SQL_CREATE_BOOKING_STAGING);
+            }
+
+            int lineNo = 0;
+            try (CopyWriter copy = new CopyWriter(conn, SQL_COPY_BOOKINGS)) {
+                while (rows.hasNext()) {
+                    BookingRow r = rows.next();
+                    copy.field(++lineNo).field(r.seatCode()).field(r.customerName())
+                            .field(r.customerEmail()).field(r.customerPhone()).lastField(r.priceOverride());
+                }
+                copy.finish();
+            }
+
+            int created;
+            try (PreparedStatement apply = SqlStatement.APPLY_BOOKINGS.prepare(conn, SQL_APPLY_BOOKINGS)) {
+                apply.setInt(1, theaterId);
+                apply.setInt(2, theaterId);
+                created = apply.executeUpdate();
+            }
+
+            conn.commit();
+            return new ImportStats(created, lineNo - created, 0);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+    }
+
+    public ImportStats loadSections(Connection conn, Iterator<SectionRow> rows) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(SQL_CREATE_SECTION_STAGING);
+            }
+
+            int lineNo = 0;
+            try (CopyWriter copy = new CopyWriter(conn, SQL_COPY_SECTIONS)) {
+                while (rows.hasNext()) {
+                    SectionRow r = rows.next();
+                    copy.field(++lineNo).field(r.getSectionName()).field(r.getRowNumber())
+                            .field(r.getTotalSeats()).lastField(r.getSeatType());
+                }
+                copy.finish();
+            }
+
+            List<String> created = new ArrayList<>();
+            try (PreparedStatement apply = SqlStatement.APPLY_SECTIONS.prepare(conn, SQL_APPLY_SECTIONS)) {
+                apply.setInt(1, theaterId);
+                apply.setInt(2, theaterId);
+                apply.setInt(3, theaterId);
+                try (ResultSet rs = apply.executeQuery()) {
+                    while (rs.next()) {
+                        created.add(rs.getString("name"));
+                    }
+                }
+            }
+
+            if (!created.isEmpty()) {
+                try (PreparedStatement generate = SqlStatement.GENERATE_SEATS.prepare(conn, SQL_GENERATE_SEATS)) {
+                    generate.setArray(1, conn.createArrayOf("text", created.toArray()));
+                    try (ResultSet rs = generate.executeQuery()) {
+                        while (rs.next()) {
+                            // one row per generated section
+                        }
+                    }
+                }
+            }
+
+            conn.commit();
+            return new ImportStats(created.size(), lineNo - created.size(), 0);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+    }
+
+    /** Encodes rows as CSV and streams them to the server in fixed-size chunks. */
+    private static final class CopyWriter implements AutoCloseable {
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+
+        CopyWriter(Connection conn, String copySql) throws SQLException {
+            this.copyIn = conn.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+        }
+
+        CopyWriter field(Object value) {
+            append(value);
+            buffer.append(',');
+            return this;
+        }
+
+        void lastField(Object value) throws SQLException {
+            append(value);
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER_CHARS) {
+                flush();
+            }
+        }
+
+        void finish() throws SQLException {
+            flush();
+            copyIn.endCopy();
+        }
+
+        // Abandons an unfinished COPY so the connection can be rolled back
+        @Override
+        public void close() throws SQLException {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+
+        private void append(Object value) {
+            if (value == null) return;                 // unquoted empty field is NULL
+            if (value instanceof Number) {
+                buffer.append(value);
+                return;
+            }
+            String s = value.toString();
+            buffer.append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '"') buffer.append('"');
+                buffer.append(c);
+            }
+            buffer.append('"');
+        }
+
+        private void flush() throws SQLException {
+            if (buffer.length() == 0) return;
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
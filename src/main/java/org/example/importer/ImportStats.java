@@ -0,0 +1,13 @@
+package org.example.importer;
+
+public record ImportStats(int created, int skipped, int errors) {
+    public static final ImportStats EMPTY = new ImportStats(0, 0, 0);
+
+    public static ImportStats combine(ImportStats a, ImportStats b) {
+        return new ImportStats(
+                a.created  + b.created,
+                a.skipped  + b.skipped,
+                a.errors   + b.errors
+        );
+    }
+}
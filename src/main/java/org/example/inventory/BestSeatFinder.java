@@ -0,0 +1,133 @@
+package org.example.inventory;
+
+import java.util.*;
+
+/**
+ * Finds the best block of N adjacent available seats in each section of a theater.
+ *
+ * A block never crosses an aisle. Each candidate block is scored as
+ *   priceWeight * price + centreWeight * centre + rowWeight * row
+ * where every term lies in [0, 1]: price is the block's average seat type price relative to
+ * the cheapest and dearest seat types (a negative weight prefers cheaper seats), centre is how
+ * close the block's middle is to the middle of its row, and row is how close the row is to the
+ * preferred depth of the section (0 = front row, 1 = back row).
+ *
+ * Each row is scanned once with a sliding window over its free seats, so a search costs
+ * O(available seats) and reads only the availability bitsets.
+ */
+public class BestSeatFinder {
+
+    public record Preferences(double priceWeight, double centreWeight, double rowWeight, double preferredRowDepth) {
+        public static final Preferences DEFAULT = new Preferences(1.0, 1.0, 1.0, 0.4);
+    }
+
+    public record SeatBlock(String sectionName, int row, List<String> seatCodes, double totalPrice, double score) {}
+
+    private final TheaterInventory inventory;
+    private final Map<Integer, Double> seatTypePrices;
+    private final Map<String, SectionLayout> layouts;
+    private final Preferences preferences;
+    private final double minPrice;
+    private final double priceRange;
+
+    /**
+     * @param seatTypePrices price of each seat type id
+     * @param layouts        aisle layout by section name; sections without one have no aisles
+     */
+    public BestSeatFinder(TheaterInventory inventory, Map<Integer, Double> seatTypePrices,
+                          Map<String, SectionLayout> layouts, Preferences preferences) {
+        this.inventory = inventory;
+        this.seatTypePrices = seatTypePrices;
+        this.layouts = layouts;
+        this.preferences = preferences;
+
+        double min = seatTypePrices.values().stream().mapToDouble(Double::doubleValue).min().orElse(0);
+        double max = seatTypePrices.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        this.minPrice = min;
+        this.priceRange = max - min;
+    }
+
+    /** Best block of each active section that has one, best first. */
+    public List<SeatBlock> findBest(int partySize) {
+        List<SeatBlock> result = new ArrayList<>();
+        for (SectionInventory section : inventory.getSections()) {
+            if (section.getSection().isActive()) {
+                best(section, partySize).ifPresent(result::add);
+            }
+        }
+        result.sort(Comparator.comparingDouble(SeatBlock::score).reversed());
+        return result;
+    }
+
+    public Optional<SeatBlock> findBest(String sectionName, int partySize) {
+        return inventory.section(sectionName).flatMap(section -> best(section, partySize));
+    }
+
+    private Optional<SeatBlock> best(SectionInventory section, int partySize) {
+        if (partySize < 1) return Optional.empty();
+
+        String name = section.getSection().getName();
+        SectionLayout layout = layouts.getOrDefault(name, SectionLayout.NO_AISLES);
+        int rows = section.getRows();
+        int seatsPerRow = section.getSeatsPerRow();
+
+        double bestScore = Double.NEGATIVE_INFINITY;
+        int bestRow = -1;
+        int bestFirstSeat = -1;
+
+        for (int row : section.rowsWithAvailableSeats()) {
+            int[] free = section.availableSeatsInRow(row);
+            if (free.length < partySize) continue;
+
+            int[] positions = layout.positions(row, seatsPerRow);
+            double rowCentre = positions[seatsPerRow] / 2.0;
+            double depth = rows > 1 ? (row - 1) / (double) (rows - 1) : 0.0;
+            double rowScore = 1.0 - Math.abs(depth - preferences.preferredRowDepth());
+
+            // Sliding window over runs of seats that are free and side by side
+            double windowPrice = 0;
+            int runStart = 0;
+            for (int i = 0; i < free.length; i++) {
+                if (i > runStart && (free[i] != free[i - 1] + 1
+                        || positions[free[i]] != positions[free[i - 1]] + 1)) {
+                    runStart = i;                        // gap or aisle: start a new run
+                    windowPrice = 0;
+                }
+                windowPrice += normalisedPrice(section, row, free[i]);
+                if (i - runStart + 1 > partySize) {
+                    windowPrice -= normalisedPrice(section, row, free[i - partySize]);
+                }
+                if (i - runStart + 1 < partySize) continue;
+
+                int first = free[i - partySize + 1];
+                double blockCentre = (positions[first] + positions[free[i]]) / 2.0;
+                double centreScore = rowCentre > 0 ? 1.0 - Math.abs(blockCentre - rowCentre) / rowCentre : 1.0;
+
+                double score = preferences.priceWeight() * windowPrice / partySize
+                        + preferences.centreWeight() * centreScore
+                        + preferences.rowWeight() * rowScore;
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestRow = row;
+                    bestFirstSeat = first;
+                }
+            }
+        }
+
+        if (bestRow < 0) return Optional.empty();
+
+        List<String> seatCodes = new ArrayList<>(partySize);
+        double totalPrice = 0;
+        for (int seat = bestFirstSeat; seat < bestFirstSeat + partySize; seat++) {
+            seatCodes.add(section.seatCode(bestRow, seat));
+            totalPrice += seatTypePrices.getOrDefault(section.seatTypeId(bestRow, seat), 0.0);
+        }
+        return Optional.of(new SeatBlock(name, bestRow, seatCodes, totalPrice, bestScore));
+    }
+
+    private double normalisedPrice(SectionInventory section, int row, int seat) {
+        if (priceRange == 0) return 1.0;
+        double price = seatTypePrices.getOrDefault(section.seatTypeId(row, seat), minPrice);
+        return (price - minPrice) / priceRange;
+    }
+}
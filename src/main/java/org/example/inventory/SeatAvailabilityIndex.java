@@ -0,0 +1,119 @@
+package org.example.inventory;
+
+/**
+ * One bit per (row, seat) position of a section; a set bit means the seat can be booked.
+ * Every row starts on a word boundary, so row queries never straddle two rows, and a
+ * second bitset with one bit per row tracks which rows still have a free seat.
+ *
+ * Not thread-safe; SectionInventory guards access.
+ */
+public class SeatAvailabilityIndex {
+    private final int rows;
+    private final int seatsPerRow;
+    private final int wordsPerRow;
+    private final long[] seats;
+    private final long[] rowsWithFree;
+    private int freeCount;
+
+    public SeatAvailabilityIndex(int rows, int seatsPerRow) {
+        this.rows = rows;
+        this.seatsPerRow = seatsPerRow;
+        this.wordsPerRow = (seatsPerRow + 63) >>> 6;
+        this.seats = new long[rows * wordsPerRow];
+        this.rowsWithFree = new long[(rows + 63) >>> 6];
+    }
+
+    public int getRows() { return rows; }
+    public int getSeatsPerRow() { return seatsPerRow; }
+
+    /** Rows and seats are 1-based, as in the seats table. */
+    public boolean isFree(int row, int seat) {
+        int bit = seat - 1;
+        return (seats[wordIndex(row, bit)] & (1L << bit)) != 0;
+    }
+
+    public void setFree(int row, int seat, boolean free) {
+        int bit = seat - 1;
+        int word = wordIndex(row, bit);
+        long mask = 1L << bit;
+        boolean wasFree = (seats[word] & mask) != 0;
+        if (wasFree == free) return;
+
+        if (free) {
+            seats[word] |= mask;
+            freeCount++;
+            rowsWithFree[(row - 1) >>> 6] |= 1L << (row - 1);
+        } else {
+            seats[word] &= ~mask;
+            freeCount--;
+            if (freeInRow(row) == 0) {
+                rowsWithFree[(row - 1) >>> 6] &= ~(1L << (row - 1));
+            }
+        }
+    }
+
+    public int freeCount() {
+        return freeCount;
+    }
+
+    public int freeInRow(int row) {
+        if (row < 1 || row > rows) return 0;
+        int count = 0;
+        int base = (row - 1) * wordsPerRow;
+        for (int w = 0; w < wordsPerRow; w++) {
+            count += Long.bitCount(seats[base + w]);
+        }
+        return count;
+    }
+
+    public boolean rowHasFree(int row) {
+        return row >= 1 && row <= rows && (rowsWithFree[(row - 1) >>> 6] & (1L << (row - 1))) != 0;
+    }
+
+    /** Seat numbers of the free seats in a row, ascending. */
+    public int[] freeSeatsInRow(int row) {
+        int[] result = new int[freeInRow(row)];
+        if (result.length == 0) return result;
+
+        int n = 0;
+        int base = (row - 1) * wordsPerRow;
+        for (int w = 0; w < wordsPerRow; w++) {
+            long word = seats[base + w];
+            while (word != 0) {
+                result[n++] = (w << 6) + Long.numberOfTrailingZeros(word) + 1;
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    /** Row numbers that have at least one free seat, ascending. */
+    public int[] rowsWithFreeSeats() {
+        int total = 0;
+        for (long word : rowsWithFree) total += Long.bitCount(word);
+
+        int[] result = new int[total];
+        int n = 0;
+        for (int w = 0; w < rowsWithFree.length; w++) {
+            long word = rowsWithFree[w];
+            while (word != 0) {
+                result[n++] = (w << 6) + Long.numberOfTrailingZeros(word) + 1;
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    /** Raw 64-seat word of a row; bit i is seat (wordInRow * 64 + i + 1). */
+    public long rowWord(int row, int wordInRow) {
+        return seats[(row - 1) * wordsPerRow + wordInRow];
+    }
+
+    public int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    private int wordIndex(int row, int bit) {
+        return (row - 1) * wordsPerRow + (bit >>> 6);
+    }
+}
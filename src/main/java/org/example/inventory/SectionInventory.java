@@ -0,0 +1,200 @@
+package org.example.inventory;
+
+import org.example.model.Seat;
+import org.example.model.SeatStatus;
+import org.example.model.Section;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact in-memory copy of one section's seats.
+ * Seats are stored in flat arrays indexed by (row - 1) * seatsPerRow + (seat - 1),
+ * so a section costs a few primitive arrays instead of one Seat object per seat.
+ * Availability questions are answered by the section's {@link SeatAvailabilityIndex}.
+ */
+public class SectionInventory {
+    static final byte NO_SEAT   = 0;
+    static final byte AVAILABLE = 1;
+    static final byte RESERVED  = 2;
+    static final byte HELD      = 3;
+
+    private final Section section;
+    private final int rows;
+    private final int seatsPerRow;
+
+    private final int[] seatIds;
+    private final int[] seatTypeIds;
+    private final String[] seatCodes;
+    private final byte[] states;
+    private final boolean[] seatActive;
+    private final SeatAvailabilityIndex availability;
+
+    SectionInventory(Section section, int rows, int seatsPerRow) {
+        this.section = section;
+        this.rows = rows;
+        this.seatsPerRow = seatsPerRow;
+
+        int size = rows * seatsPerRow;
+        this.seatIds = new int[size];
+        this.seatTypeIds = new int[size];
+        this.seatCodes = new String[size];
+        this.states = new byte[size];
+        this.seatActive = new boolean[size];
+        this.availability = new SeatAvailabilityIndex(rows, seatsPerRow);
+    }
+
+    public Section getSection() { return section; }
+    public int getRows() { return rows; }
+    public int getSeatsPerRow() { return seatsPerRow; }
+
+    int indexOf(int rowNumber, int seatNumber) {
+        return (rowNumber - 1) * seatsPerRow + (seatNumber - 1);
+    }
+
+    void put(int index, int seatId, String seatCode, int seatTypeId, String status, boolean active) {
+        seatIds[index] = seatId;
+        seatCodes[index] = seatCode;
+        seatTypeIds[index] = seatTypeId;
+        seatActive[index] = active;
+        states[index] = encode(status);
+        updateAvailability(index);
+    }
+
+    synchronized boolean isAvailable(int index) {
+        return availability.isFree(index / seatsPerRow + 1, index % seatsPerRow + 1);
+    }
+
+    synchronized void setStatus(int index, String status) {
+        if (states[index] != NO_SEAT) {
+            states[index] = encode(status);
+            updateAvailability(index);
+        }
+    }
+
+    private void updateAvailability(int index) {
+        availability.setFree(index / seatsPerRow + 1, index % seatsPerRow + 1,
+                states[index] == AVAILABLE && seatActive[index]);
+    }
+
+    /** Rows with at least one bookable seat, ascending. */
+    public synchronized int[] rowsWithAvailableSeats() {
+        return availability.rowsWithFreeSeats();
+    }
+
+    public synchronized int availableInRow(int rowNumber) {
+        return availability.freeInRow(rowNumber);
+    }
+
+    /** Seat numbers of the bookable seats in a row, ascending. */
+    synchronized int[] availableSeatsInRow(int rowNumber) {
+        if (rowNumber < 1 || rowNumber > rows) return new int[0];
+        return availability.freeSeatsInRow(rowNumber);
+    }
+
+    // Ids, codes and types never change after the inventory is built
+    String seatCode(int rowNumber, int seatNumber) {
+        return seatCodes[indexOf(rowNumber, seatNumber)];
+    }
+
+    int seatTypeId(int rowNumber, int seatNumber) {
+        return seatTypeIds[indexOf(rowNumber, seatNumber)];
+    }
+
+    synchronized Seat toSeat(int index) {
+        return new Seat(
+                seatIds[index],
+                seatCodes[index],
+                section.getId(),
+                index / seatsPerRow + 1,
+                index % seatsPerRow + 1,
+                seatTypeIds[index],
+                decode(states[index]),
+                seatActive[index]
+        );
+    }
+
+    /** Active seats of this section, optionally filtered by status, in row/seat order. */
+    synchronized List<Seat> seats(String status) {
+        List<Seat> result = new ArrayList<>();
+        if (status != null && encode(status) == AVAILABLE) {
+            for (int row : availability.rowsWithFreeSeats()) {
+                result.addAll(seatsInRow(row, status));
+            }
+            return result;
+        }
+
+        byte wanted = status == null ? NO_SEAT : encode(status);
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == NO_SEAT || !seatActive[i]) continue;
+            if (status != null && states[i] != wanted) continue;
+            result.add(toSeat(i));
+        }
+        return result;
+    }
+
+    synchronized List<Seat> seatsInRow(int rowNumber, String status) {
+        List<Seat> result = new ArrayList<>();
+        if (rowNumber < 1 || rowNumber > rows) return result;
+
+        if (encode(status) == AVAILABLE) {
+            int start = (rowNumber - 1) * seatsPerRow;
+            for (int seat : availability.freeSeatsInRow(rowNumber)) {
+                result.add(toSeat(start + seat - 1));
+            }
+            return result;
+        }
+
+        byte wanted = encode(status);
+        int start = (rowNumber - 1) * seatsPerRow;
+        for (int i = start; i < start + seatsPerRow; i++) {
+            if (states[i] == wanted && seatActive[i]) {
+                result.add(toSeat(i));
+            }
+        }
+        return result;
+    }
+
+    /** Seat numbers of the active seats in a row with the given status, ascending. */
+    synchronized int[] seatNumbersInRow(int rowNumber, String status) {
+        if (rowNumber < 1 || rowNumber > rows) return new int[0];
+        if (encode(status) == AVAILABLE) return availability.freeSeatsInRow(rowNumber);
+
+        byte wanted = encode(status);
+        int start = (rowNumber - 1) * seatsPerRow;
+        int[] found = new int[seatsPerRow];
+        int n = 0;
+        for (int i = start; i < start + seatsPerRow; i++) {
+            if (states[i] == wanted && seatActive[i]) found[n++] = i - start + 1;
+        }
+        return Arrays.copyOf(found, n);
+    }
+
+    synchronized int count(String status) {
+        if (status != null && encode(status) == AVAILABLE) {
+            return availability.freeCount();
+        }
+        int count = 0;
+        byte wanted = status == null ? NO_SEAT : encode(status);
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == NO_SEAT || !seatActive[i]) continue;
+            if (status == null || states[i] == wanted) count++;
+        }
+        return count;
+    }
+
+    private static byte encode(String status) {
+        if (SeatStatus.AVAILABLE.name().equals(status)) return AVAILABLE;
+        if (SeatStatus.HELD.name().equals(status)) return HELD;
+        return RESERVED;
+    }
+
+    private static String decode(byte state) {
+        return switch (state) {
+            case AVAILABLE -> SeatStatus.AVAILABLE.name();
+            case HELD -> SeatStatus.HELD.name();
+            default -> SeatStatus.RESERVED.name();
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.inventory;
+
+import java.util.*;
+
+/**
+ * Aisle layout of a section's rows, as described by TheaterLayoutRow.seatsConfiguration:
+ * blocks of seats separated by 0 entries, e.g. [6, 0, 6] is two blocks of six with an aisle between.
+ * Seat numbers run on across aisles (1..12 in that example).
+ *
+ * Stored in theater_config under {@link #CONFIG_KEY_PREFIX} + section name, one
+ * "row=configuration" entry per row separated by ';'. Rows without an entry have no aisles.
+ */
+public final class SectionLayout {
+    public static final String CONFIG_KEY_PREFIX = "seat_layout.";
+    public static final SectionLayout NO_AISLES = new SectionLayout(Map.of());
+
+    private final Map<Integer, List<Integer>> rows;
+
+    public SectionLayout(Map<Integer, List<Integer>> rows) {
+        this.rows = new TreeMap<>(rows);
+    }
+
+    public static String configKey(String sectionName) {
+        return CONFIG_KEY_PREFIX + sectionName;
+    }
+
+    public static SectionLayout parse(String value) {
+        Map<Integer, List<Integer>> rows = new TreeMap<>();
+        if (value == null || value.isBlank()) return NO_AISLES;
+
+        for (String entry : value.split(";")) {
+            int eq = entry.indexOf('=');
+            if (eq < 0) continue;
+            try {
+                int row = Integer.parseInt(entry.substring(0, eq).trim());
+                List<Integer> configuration = new ArrayList<>();
+                for (String blocks : entry.substring(eq + 1).split(",")) {
+                    configuration.add(Integer.parseInt(blocks.trim()));
+                }
+                rows.put(row, configuration);
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring malformed seat layout entry: " + entry);
+            }
+        }
+        return new SectionLayout(rows);
+    }
+
+    public String format() {
+        StringJoiner joiner = new StringJoiner(";");
+        rows.forEach((row, configuration) -> {
+            StringJoiner blocks = new StringJoiner(",");
+            configuration.forEach(seats -> blocks.add(seats.toString()));
+            joiner.add(row + "=" + blocks);
+        });
+        return joiner.toString();
+    }
+
+    /** Adds or replaces the configuration of one row and returns the new layout. */
+    public SectionLayout withRow(int row, List<Integer> configuration) {
+        Map<Integer, List<Integer>> copy = new TreeMap<>(rows);
+        copy.put(row, List.copyOf(configuration));
+        return new SectionLayout(copy);
+    }
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    /**
+     * Physical position of every seat of a row, in seat widths from the row's left edge,
+     * counting each aisle as one seat width. Index 0 is unused; seats past the
+     * configuration continue without further aisles.
+     */
+    int[] positions(int row, int seatsPerRow) {
+        int[] positions = new int[seatsPerRow + 1];
+        List<Integer> configuration = rows.getOrDefault(row, List.of());
+
+        int seat = 1;
+        int position = 0;
+        for (int block : configuration) {
+            if (block <= 0) {
+                position++;                  // aisle
+                continue;
+            }
+            for (int i = 0; i < block && seat <= seatsPerRow; i++) {
+                positions[seat++] = position++;
+            }
+        }
+        while (seat <= seatsPerRow) {
+            positions[seat++] = position++;
+        }
+        return positions;
+    }
+}
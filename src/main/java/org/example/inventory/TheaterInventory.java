@@ -0,0 +1,198 @@
+package org.example.inventory;
+
+import org.example.model.Seat;
+import org.example.model.SeatRowSummary;
+import org.example.model.SeatStatus;
+import org.example.model.Section;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * In-memory seat inventory of a single theater.
+ * Built once from the database and then kept current by the DAO's write paths.
+ */
+public class TheaterInventory {
+    private final int theaterId;
+    private final List<SectionInventory> sections;               // ordered by section name
+    private final Map<String, SectionInventory> sectionsByName;
+    private final Map<String, Long> seatLocations;               // seat code -> (section slot << 32 | index)
+
+    private TheaterInventory(int theaterId, List<SectionInventory> sections, Map<String, Long> seatLocations) {
+        this.theaterId = theaterId;
+        this.sections = sections;
+        this.seatLocations = seatLocations;
+        this.sectionsByName = new HashMap<>();
+        for (SectionInventory s : sections) {
+            sectionsByName.put(s.getSection().getName(), s);
+        }
+    }
+
+    public int getTheaterId() { return theaterId; }
+
+    public List<SectionInventory> getSections() { return sections; }
+
+    public Optional<SectionInventory> section(String name) {
+        return Optional.ofNullable(sectionsByName.get(name));
+    }
+
+    public Optional<Seat> seat(String seatCode) {
+        Long location = seatLocations.get(seatCode);
+        if (location == null) return Optional.empty();
+        return Optional.of(sections.get(slot(location)).toSeat(index(location)));
+    }
+
+    /** Id of the section a seat belongs to, or -1 for an unknown seat code. */
+    public int sectionIdOf(String seatCode) {
+        Long location = seatLocations.get(seatCode);
+        return location == null ? -1 : sections.get(slot(location)).getSection().getId();
+    }
+
+    public boolean isAvailable(String seatCode) {
+        Long location = seatLocations.get(seatCode);
+        return location != null && sections.get(slot(location)).isAvailable(index(location));
+    }
+
+    /** Applies a status change that has already been written to the database. */
+    public boolean setStatus(String seatCode, SeatStatus status) {
+        Long location = seatLocations.get(seatCode);
+        if (location == null) return false;
+        sections.get(slot(location)).setStatus(index(location), status.name());
+        return true;
+    }
+
+    public List<Seat> seatsBySection(String sectionName, SeatStatus status) {
+        SectionInventory section = sectionsByName.get(sectionName);
+        if (section == null) return new ArrayList<>();
+        return section.seats(status == null ? null : status.name());
+    }
+
+    public List<Seat> seatsByRow(String sectionName, int rowNumber, SeatStatus status) {
+        SectionInventory section = sectionsByName.get(sectionName);
+        if (section == null) return new ArrayList<>();
+        return section.seatsInRow(rowNumber, status.name());
+    }
+
+    /** Row numbers of a section that still have a bookable seat, ascending. */
+    public List<Integer> rowsWithAvailableSeats(String sectionName) {
+        SectionInventory section = sectionsByName.get(sectionName);
+        List<Integer> result = new ArrayList<>();
+        if (section == null) return result;
+        for (int row : section.rowsWithAvailableSeats()) {
+            result.add(row);
+        }
+        return result;
+    }
+
+    /** Seats with the given status in active sections, ordered by section name, row and seat. */
+    public List<Seat> seatsInActiveSections(SeatStatus status) {
+        List<Seat> result = new ArrayList<>();
+        for (SectionInventory section : sections) {
+            if (section.getSection().isActive()) {
+                result.addAll(section.seats(status.name()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Passes the seats of active sections with the given status to the sink one row at a time,
+     * without building the whole list. Sections are locked per row, not while the sink runs.
+     */
+    public int forEachSeatInActiveSections(SeatStatus status, Consumer<Seat> sink) {
+        int count = 0;
+        for (SectionInventory section : sections) {
+            if (!section.getSection().isActive()) continue;
+            for (int row = 1; row <= section.getRows(); row++) {
+                List<Seat> seats = section.seatsInRow(row, status.name());
+                seats.forEach(sink);
+                count += seats.size();
+            }
+        }
+        return count;
+    }
+
+    /** One summary per row of the active sections that has seats with the given status. */
+    public int forEachRowSummary(SeatStatus status, Consumer<SeatRowSummary> sink) {
+        int count = 0;
+        for (SectionInventory section : sections) {
+            if (!section.getSection().isActive()) continue;
+            for (int row = 1; row <= section.getRows(); row++) {
+                int[] seats = section.seatNumbersInRow(row, status.name());
+                if (seats.length == 0) continue;
+                sink.accept(new SeatRowSummary(section.getSection().getName(), row, seats.length,
+                        SeatRowSummary.ranges(seats)));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Number of active seats with the given status, or all active seats when status is null. */
+    public int count(SeatStatus status) {
+        int total = 0;
+        for (SectionInventory section : sections) {
+            total += section.count(status == null ? null : status.name());
+        }
+        return total;
+    }
+
+    private static int slot(long location) { return (int) (location >>> 32); }
+    private static int index(long location) { return (int) location; }
+
+    public static Builder builder(int theaterId) {
+        return new Builder(theaterId);
+    }
+
+    public static class Builder {
+        private final int theaterId;
+        private final Map<Integer, Section> sections = new HashMap<>();
+        private final Map<Integer, List<Seat>> seatsBySection = new HashMap<>();
+
+        private Builder(int theaterId) {
+            this.theaterId = theaterId;
+        }
+
+        public Builder addSection(Section section) {
+            sections.put(section.getId(), section);
+            return this;
+        }
+
+        public Builder addSeat(Seat seat) {
+            seatsBySection.computeIfAbsent(seat.getSectionId(), k -> new ArrayList<>()).add(seat);
+            return this;
+        }
+
+        public TheaterInventory build() {
+            List<Section> ordered = new ArrayList<>(sections.values());
+            ordered.sort(Comparator.comparing(Section::getName));
+
+            List<SectionInventory> inventories = new ArrayList<>(ordered.size());
+            Map<String, Long> locations = new HashMap<>();
+
+            for (Section section : ordered) {
+                List<Seat> seats = seatsBySection.getOrDefault(section.getId(), List.of());
+
+                // Size from the section definition, but never drop seats that lie outside it
+                int rows = section.getRows();
+                int seatsPerRow = section.getSeatsPerRow();
+                for (Seat seat : seats) {
+                    rows = Math.max(rows, seat.getRowNumber());
+                    seatsPerRow = Math.max(seatsPerRow, seat.getSeatNumber());
+                }
+
+                SectionInventory inventory = new SectionInventory(section, Math.max(rows, 0), Math.max(seatsPerRow, 0));
+                long slot = inventories.size();
+                for (Seat seat : seats) {
+                    if (seat.getRowNumber() < 1 || seat.getSeatNumber() < 1) continue;
+                    int index = inventory.indexOf(seat.getRowNumber(), seat.getSeatNumber());
+                    inventory.put(index, seat.getId(), seat.getSeatCode(), seat.getSeatTypeId(),
+                            seat.getStatus(), seat.isActive());
+                    locations.put(seat.getSeatCode(), slot << 32 | index);
+                }
+                inventories.add(inventory);
+            }
+            return new TheaterInventory(theaterId, inventories, locations);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-method metrics of the timed TheaterDAO, one MethodMetrics per method name, each also
+ * registered under org.example:type=DaoMethod,name=method.
+ *
+ * Connection acquisition is timed where connections are taken from the pools and added to a
+ * per-thread running total; a timed call reads the total before and after to get its share.
+ */
+public final class DaoMetrics {
+    private static final Map<String, MethodMetrics> METHODS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<long[]> ACQUIRE_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private DaoMetrics() {}
+
+    public static MethodMetrics forMethod(String method) {
+        return METHODS.computeIfAbsent(method, name -> {
+            MethodMetrics metrics = new MethodMetrics(name);
+            registerMBean(metrics);
+            return metrics;
+        });
+    }
+
+    /** Adds the time the current thread just waited for a pooled connection. */
+    public static void addAcquireNanos(long nanos) {
+        ACQUIRE_NANOS.get()[0] += nanos;
+    }
+
+    /** Running total of the current thread's connection waits. */
+    public static long acquireNanos() {
+        return ACQUIRE_NANOS.get()[0];
+    }
+
+    /** Every method that has been called, most calls first. */
+    public static List<MethodMetrics.Snapshot> snapshot() {
+        return METHODS.values().stream()
+                .map(MethodMetrics::snapshot)
+                .filter(s -> s.calls() > 0)
+                .sorted(Comparator.comparingLong(MethodMetrics.Snapshot::calls).reversed())
+                .toList();
+    }
+
+    /** Clears every method's calls, errors and histograms, so all columns cover the same period. */
+    public static void reset() {
+        METHODS.values().forEach(MethodMetrics::reset);
+    }
+
+    /** Prints one line per method: calls, errors, latency percentiles and the acquire/query split. */
+    public static void dump(PrintStream out) {
+        List<MethodMetrics.Snapshot> methods = snapshot();
+        if (methods.isEmpty()) {
+            out.println("(no DAO calls recorded)");
+            return;
+        }
+        out.printf("%-32s %9s %6s %9s %9s %9s %9s %9s  %9s %9s%n", "Method", "Calls", "Errors",
+                "Mean ms", "p50", "p99", "p99.9", "Max", "Acq mean", "Qry mean");
+        for (MethodMetrics.Snapshot m : methods) {
+            out.printf("%-32s %9d %6d %9.3f %9.3f %9.3f %9.3f %9.3f  %9.3f %9.3f%n",
+                    m.method(), m.calls(), m.errors(),
+                    m.total().meanNanos() / 1e6, m.total().p50Nanos() / 1e6, m.total().p99Nanos() / 1e6,
+                    m.total().p999Nanos() / 1e6, m.total().maxNanos() / 1e6,
+                    m.acquire().meanNanos() / 1e6, m.query().meanNanos() / 1e6);
+        }
+    }
+
+    private static void registerMBean(MethodMetrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("org.example:type=DaoMethod,name=" + ObjectName.quote(metrics.getMethod()));
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not register DAO metrics MBean: " + e.getMessage());
+        }
+    }
+}
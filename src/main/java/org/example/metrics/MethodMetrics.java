@@ -0,0 +1,85 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of one DAO method: calls, calls that threw, and three latency histograms. Each call's
+ * time is split into the time spent waiting for pooled connections and the rest, which is the
+ * time spent in the database and in the driver.
+ */
+public class MethodMetrics implements MethodMetricsMXBean {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    public record Snapshot(String method, long calls, long errors, LatencyHistogram.Snapshot total,
+                           LatencyHistogram.Snapshot acquire, LatencyHistogram.Snapshot query) {}
+
+    private final String method;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram total = new LatencyHistogram();
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LatencyHistogram query = new LatencyHistogram();
+
+    MethodMetrics(String method) {
+        this.method = method;
+    }
+
+    public void record(long totalNanos, long acquireNanos, boolean failed) {
+        calls.increment();
+        if (failed) errors.increment();
+        total.record(totalNanos);
+        acquire.record(acquireNanos);
+        query.record(totalNanos - acquireNanos);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(method, calls.sum(), errors.sum(), total.snapshot(), acquire.snapshot(), query.snapshot());
+    }
+
+    // MethodMetricsMXBean
+    @Override
+    public String getMethod() { return method; }
+
+    @Override
+    public long getCalls() { return calls.sum(); }
+
+    @Override
+    public long getErrors() { return errors.sum(); }
+
+    @Override
+    public double getMeanMillis() { return total.snapshot().meanNanos() / NANOS_PER_MILLI; }
+
+    @Override
+    public double getP50Millis() { return total.snapshot().p50Nanos() / NANOS_PER_MILLI; }
+
+    @Override
+    public double getP99Millis() { return total.snapshot().p99Nanos() / NANOS_PER_MILLI; }
+
+    @Override
+    public double getP999Millis() { return total.snapshot().p999Nanos() / NANOS_PER_MILLI; }
+
+    @Override
+    public double getMaxMillis() { return total.snapshot().maxNanos() / NANOS_PER_MILLI; }
+
+    @Override
+    public double getAcquireMeanMillis() { return acquire.snapshot().meanNanos() / NANOS_PER_MILLI; }
+
+    @Override
+    public double getAcquireP99Millis() { return acquire.snapshot().p99Nanos() / NANOS_PER_MILLI; }
+
+    @Override
+    public double getQueryMeanMillis() { return query.snapshot().meanNanos() / NANOS_PER_MILLI; }
+
+    @Override
+    public double getQueryP99Millis() { return query.snapshot().p99Nanos() / NANOS_PER_MILLI; }
+
+    // Calls racing with a reset may land on either side of it
+    @Override
+    public void reset() {
+        calls.reset();
+        errors.reset();
+        total.reset();
+        acquire.reset();
+        query.reset();
+    }
+}
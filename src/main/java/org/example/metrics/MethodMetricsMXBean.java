@@ -0,0 +1,19 @@
+package org.example.metrics;
+
+/** Call counts and latency of one TheaterDAO method, published under org.example:type=DaoMethod. */
+public interface MethodMetricsMXBean {
+    String getMethod();
+    long getCalls();
+    long getErrors();
+    double getMeanMillis();
+    double getP50Millis();
+    double getP99Millis();
+    double getP999Millis();
+    double getMaxMillis();
+    double getAcquireMeanMillis();
+    double getAcquireP99Millis();
+    double getQueryMeanMillis();
+    double getQueryP99Millis();
+    /** Starts the counts and histograms over. */
+    void reset();
+}
@@ -0,0 +1,112 @@
+package org.example.metrics;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of one Hikari pool: the pool's own gauges from its HikariPoolMXBean, plus
+ * histograms of how long callers waited for a connection and how long they kept it,
+ * fed by Hikari as this pool's metrics tracker.
+ */
+public class PoolMetrics implements IMetricsTracker, PoolMetricsMXBean {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String poolName;
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LatencyHistogram usage = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private volatile HikariPoolMXBean pool;
+
+    public PoolMetrics(String poolName) {
+        this.poolName = poolName;
+    }
+
+    /** The pool's MXBean only exists once the pool has started. */
+    public void attach(HikariPoolMXBean pool) {
+        this.pool = pool;
+    }
+
+    public LatencyHistogram acquireHistogram() {
+        return acquire;
+    }
+
+    public LatencyHistogram usageHistogram() {
+        return usage;
+    }
+
+    /** Registers this pool under org.example:type=ConnectionPool,name=poolName; failures are only logged. */
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("org.example:type=ConnectionPool,name=" + ObjectName.quote(poolName));
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not register pool metrics MBean: " + e.getMessage());
+        }
+    }
+
+    // Hikari callbacks
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquire.record(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usage.record(elapsedBorrowedMillis * 1_000_000L);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    // PoolMetricsMXBean
+    @Override
+    public String getPoolName() { return poolName; }
+
+    @Override
+    public int getActiveConnections() { return pool != null ? pool.getActiveConnections() : 0; }
+
+    @Override
+    public int getIdleConnections() { return pool != null ? pool.getIdleConnections() : 0; }
+
+    @Override
+    public int getTotalConnections() { return pool != null ? pool.getTotalConnections() : 0; }
+
+    @Override
+    public int getThreadsAwaitingConnection() { return pool != null ? pool.getThreadsAwaitingConnection() : 0; }
+
+    @Override
+    public long getConnectionsAcquired() { return acquire.count(); }
+
+    @Override
+    public long getConnectionTimeouts() { return timeouts.sum(); }
+
+    @Override
+    public double getAcquireMeanMillis() { return acquire.snapshot().meanNanos() / NANOS_PER_MILLI; }
+
+    @Override
+    public double getAcquireP50Millis() { return acquire.snapshot().p50Nanos() / NANOS_PER_MILLI; }
+
+    @Override
+    public double getAcquireP99Millis() { return acquire.snapshot().p99Nanos() / NANOS_PER_MILLI; }
+
+    @Override
+    public double getAcquireMaxMillis() { return acquire.snapshot().maxNanos() / NANOS_PER_MILLI; }
+
+    @Override
+    public double getUsageP99Millis() { return usage.snapshot().p99Nanos() / NANOS_PER_MILLI; }
+
+    @Override
+    public void resetHistograms() {
+        acquire.reset();
+        usage.reset();
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.metrics;
+
+/** Connection pool gauges and acquisition latency, published under org.example:type=ConnectionPool. */
+public interface PoolMetricsMXBean {
+    String getPoolName();
+    int getActiveConnections();
+    int getIdleConnections();
+    int getTotalConnections();
+    int getThreadsAwaitingConnection();
+    long getConnectionsAcquired();
+    long getConnectionTimeouts();
+    double getAcquireMeanMillis();
+    double getAcquireP50Millis();
+    double getAcquireP99Millis();
+    double getAcquireMaxMillis();
+    double getUsageP99Millis();
+    void resetHistograms();
+}
@@ -0,0 +1,9 @@
+package org.example.model;
+
+/** Result of a successful booking: the new booking's id and the price that was charged. */
+public record BookingConfirmation(
+        int bookingId,
+        int seatId,
+        String seatCode,
+        double totalPrice
+) {}
@@ -0,0 +1,24 @@
+package org.example.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of bookings, newest first. Pass {@link #next()} back to get the following page;
+ * it is null on the last page.
+ */
+public record BookingPage(
+        List<Booking> bookings,
+        Cursor next
+) {
+    /** Position after the last booking of a page: bookings are ordered by (booking_time, id) descending. */
+    public record Cursor(LocalDateTime bookingTime, int bookingId) {
+        public static Cursor after(Booking booking) {
+            return new Cursor(booking.getBookingTime(), booking.getId());
+        }
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
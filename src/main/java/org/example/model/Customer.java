@@ -0,0 +1,8 @@
+package org.example.model;
+
+/** Contact details a booking is made for. */
+public record Customer(
+        String name,
+        String email,
+        String phone
+) {}
@@ -0,0 +1,23 @@
+package org.example.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/** Seats, bookings and revenue of every theater and section, with grand totals, as of generatedAt. */
+public record OccupancyReport(
+        Instant generatedAt,
+        Totals total,
+        List<TheaterTotals> theaters
+) {
+    public record Totals(int totalSeats, int availableSeats, int bookedSeats, int bookings, double revenue) {
+        public static final Totals EMPTY = new Totals(0, 0, 0, 0, 0);
+
+        public double occupancyRate() {
+            return totalSeats > 0 ? (double) bookedSeats / totalSeats : 0.0;
+        }
+    }
+
+    public record SectionTotals(String sectionName, Totals totals) {}
+
+    public record TheaterTotals(int theaterId, String theaterName, Totals totals, List<SectionTotals> sections) {}
+}
@@ -0,0 +1,11 @@
+package org.example.model;
+
+import java.time.Instant;
+
+/** A seat kept in HELD status until expiresAt, after which the hold sweeper makes it available again. */
+public record SeatHold(
+        int seatId,
+        String seatCode,
+        int theaterId,
+        Instant expiresAt
+) {}
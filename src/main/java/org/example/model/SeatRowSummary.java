@@ -0,0 +1,27 @@
+package org.example.model;
+
+/** The seats of one row that have a given status, as runs of adjacent seat numbers, e.g. "1-12, 15-20". */
+public record SeatRowSummary(
+        String sectionName,
+        int row,
+        int seats,
+        String ranges
+) {
+    /** Formats ascending seat numbers the way the summary query does. */
+    public static String ranges(int[] seatNumbers) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < seatNumbers.length; i++) {
+            int first = seatNumbers[i];
+            while (i + 1 < seatNumbers.length && seatNumbers[i + 1] == seatNumbers[i] + 1) i++;
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(first);
+            if (seatNumbers[i] != first) sb.append('-').append(seatNumbers[i]);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return sectionName + " row " + row + ": " + ranges + " (" + seats + (seats == 1 ? " seat)" : " seats)");
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.model;
 
 public enum SeatStatus {
-    AVAILABLE, RESERVED
-}
\ No newline at end of file
+    AVAILABLE, RESERVED,
+    HELD        // temporarily kept for one clerk until the hold is booked, released or expires
+}
@@ -0,0 +1,14 @@
+package org.example.model;
+
+/** Seat counts and revenue of one theater, read from the theater_stats counters. */
+public record TheaterStatistics(
+        int theaterId,
+        int totalSeats,
+        int availableSeats,
+        int bookedSeats,
+        double totalRevenue
+) {
+    public double occupancyRate() {
+        return totalSeats > 0 ? (double) bookedSeats / totalSeats : 0.0;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.notify;
+
+/**
+ * A committed change announced on the theater_changes channel.
+ *
+ * @param table     table that changed, or {@link #RESYNC} when notifications may have been missed
+ * @param key       seat code, section / seat type / theater name or config key; null when the
+ *                  whole theater's rows of that table should be reloaded
+ * @param status    new seat status for seat changes with a key
+ */
+public record ChangeEvent(
+        String table,
+        String operation,
+        int theaterId,
+        String key,
+        String status
+) {
+    public static final String RESYNC = "*";
+
+    public static ChangeEvent resync() {
+        return new ChangeEvent(RESYNC, null, 0, null, null);
+    }
+
+    public boolean isResync() {
+        return RESYNC.equals(table);
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.notify;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.config.DatabaseConfig;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Listens on the theater_changes channel (see db/002_change_notifications.sql) on a
+ * dedicated connection and hands every event to the subscribed caches.
+ *
+ * If the connection is lost the listener reconnects and sends a resync event first,
+ * since notifications sent while it was away are gone.
+ */
+public class ChangeNotificationListener implements AutoCloseable {
+    public static final String CHANNEL = "theater_changes";
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30_000;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<Consumer<ChangeEvent>> subscribers = new CopyOnWriteArrayList<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile Connection connection;
+
+    public ChangeNotificationListener() {
+        this.thread = new Thread(this::run, "change-listener");
+        this.thread.setDaemon(true);
+    }
+
+    public ChangeNotificationListener subscribe(Consumer<ChangeEvent> subscriber) {
+        subscribers.add(subscriber);
+        return this;
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void run() {
+        long reconnectDelay = 1000;
+        boolean firstConnect = true;
+
+        while (running) {
+            try (Connection conn = DatabaseConfig.openDedicatedConnection()) {
+                connection = conn;
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("LISTEN " + CHANNEL);
+                }
+                if (!firstConnect) {
+                    publish(ChangeEvent.resync());
+                }
+                firstConnect = false;
+                reconnectDelay = 1000;
+
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications == null) continue;
+                    for (PGNotification n : notifications) {
+                        ChangeEvent event = parse(n.getParameter());
+                        if (event != null) publish(event);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) return;
+                System.err.println("Change listener lost its connection: " + e.getMessage()
+                        + " - retrying in " + reconnectDelay / 1000 + "s");
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MILLIS);
+                firstConnect = false;
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private void publish(ChangeEvent event) {
+        for (Consumer<ChangeEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                System.err.println("Change subscriber failed on " + event + ": " + e.getMessage());
+            }
+        }
+    }
+
+    static ChangeEvent parse(String payload) {
+        try {
+            JsonNode node = MAPPER.readTree(payload);
+            return new ChangeEvent(
+                    node.path("table").asText(),
+                    node.path("op").asText(),
+                    node.path("theater_id").asInt(),
+                    node.hasNonNull("key") ? node.get("key").asText() : null,
+                    node.hasNonNull("status") ? node.get("status").asText() : null
+            );
+        } catch (Exception e) {
+            System.err.println("Ignoring malformed change notification: " + payload);
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        Connection conn = connection;
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException ignored) {
+            }
+        }
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.service;
+
+import org.example.dao.InMemorySeatInventoryDAO;
+import org.example.dao.TheaterDAO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Booking sessions and the executor their requests run on.
+ *
+ * Every request runs on its own virtual thread. A request spends nearly all its time waiting
+ * for a pooled connection or for PostgreSQL, and a waiting virtual thread costs a few hundred
+ * bytes instead of a platform thread's stack, so thousands of sessions can be served while the
+ * Hikari pool stays small: the pool, not the thread count, bounds the work the database sees.
+ *
+ * The console keeps one session for its clerk; the HTTP API runs every request through
+ * {@link #submit}, in the client's named session or in a session of its own.
+ */
+public class BookingService implements AutoCloseable {
+    private final TheaterDAO theaterDAO;
+    private final InMemorySeatInventoryDAO inventory;
+    private final SeatHoldManager holds;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, BookingSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong requestSessions = new AtomicLong();
+
+    /**
+     * @param inventory the in-memory inventory in theaterDAO's chain, for best-seat searches; may be null
+     */
+    public BookingService(TheaterDAO theaterDAO, InMemorySeatInventoryDAO inventory) {
+        this.theaterDAO = theaterDAO;
+        this.inventory = inventory;
+        this.holds = new SeatHoldManager(theaterDAO);
+    }
+
+    TheaterDAO dao() { return theaterDAO; }
+
+    InMemorySeatInventoryDAO inventory() { return inventory; }
+
+    SeatHoldManager holds() { return holds; }
+
+    /** Opens a session; its id is also the owner of the seats it holds. */
+    public BookingSession openSession(String sessionId) {
+        BookingSession session = new BookingSession(sessionId, this);
+        if (sessions.putIfAbsent(sessionId, session) != null) {
+            throw new IllegalArgumentException("Session already open: " + sessionId);
+        }
+        return session;
+    }
+
+    /** The named session, opened on first use, for clients that come back with the same id. */
+    public BookingSession sessionFor(String sessionId) {
+        return sessions.computeIfAbsent(sessionId, id -> new BookingSession(id, this));
+    }
+
+    /** A session for a single request; it is not registered, so it must not be left holding seats. */
+    public BookingSession requestSession() {
+        return new BookingSession("request-" + requestSessions.incrementAndGet(), this);
+    }
+
+    public Optional<BookingSession> session(String sessionId) {
+        return Optional.ofNullable(sessions.get(sessionId));
+    }
+
+    public Collection<BookingSession> sessions() {
+        return List.copyOf(sessions.values());
+    }
+
+    void forget(BookingSession session) {
+        sessions.remove(session.id(), session);
+    }
+
+    /** Runs a request of the session on a new virtual thread. */
+    public <T> CompletableFuture<T> submit(BookingSession session, Function<BookingSession, T> request) {
+        return CompletableFuture.supplyAsync(() -> session.inSession(() -> request.apply(session)), executor);
+    }
+
+    public int activeHolds() {
+        return holds.activeHolds();
+    }
+
+    /** Stops accepting requests, waits briefly for running ones, then releases every hold. */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        sessions.clear();
+        holds.close();
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.service;
+
+import org.example.config.TheaterConfig;
+import org.example.dao.ConnectionRouter;
+import org.example.inventory.BestSeatFinder;
+import org.example.model.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * One clerk's booking session: the theater they are working on, the seats they hold and
+ * their read-your-writes routing state. Sessions carry the context that used to live in
+ * TheaterManagementSystem's fields, so one process can serve many clerks at once.
+ *
+ * A session is meant to be used by one request at a time, from any thread; every call binds
+ * the session's routing state to the calling thread for its duration.
+ */
+public class BookingSession implements AutoCloseable {
+    private final String id;
+    private final BookingService service;
+    private final ConnectionRouter.Session routing = new ConnectionRouter.Session();
+    private volatile int theaterId = -1;
+    private volatile String theaterName = "";
+
+    BookingSession(String id, BookingService service) {
+        this.id = id;
+        this.service = service;
+    }
+
+    public String id() { return id; }
+
+    public boolean hasTheater() { return theaterId > 0; }
+
+    public int theaterId() { return theaterId; }
+
+    public String theaterName() { return theaterName; }
+
+    /** Switches the session to another theater; holds in the previous one are released. */
+    public void selectTheater(int theaterId, String theaterName) {
+        if (this.theaterId > 0 && this.theaterId != theaterId) {
+            releaseAllHolds();
+        }
+        this.theaterId = theaterId;
+        this.theaterName = theaterName;
+    }
+
+    /** Switches to a theater by id, looking up its name; false if there is no such theater. */
+    public boolean selectTheater(int theaterId) {
+        if (theaterId == this.theaterId) return true;
+        Optional<Theater> theater = inSession(() -> service.dao().getTheaterById(theaterId));
+        theater.ifPresent(t -> selectTheater(t.getId(), t.getName()));
+        return theater.isPresent();
+    }
+
+    /** Keeps the displayed name current after the selected theater was renamed. */
+    public void renameTheater(String theaterName) {
+        this.theaterName = theaterName;
+    }
+
+    public boolean bookingEnabled() {
+        return inSession(() -> service.dao().getConfigByKey("booking_enabled", theaterId())
+                .map(TheaterConfig::getConfigValue)
+                .map(value -> !"false".equals(value))
+                .orElse(true));
+    }
+
+    public int holdTtlSeconds() {
+        return inSession(() -> service.dao().getConfigByKey(SeatHoldManager.TTL_CONFIG_KEY, theaterId())
+                .map(TheaterConfig::getConfigValue)
+                .map(String::trim)
+                .filter(v -> v.matches("[1-9]\\d{0,5}"))
+                .map(Integer::parseInt)
+                .orElse(SeatHoldManager.DEFAULT_TTL_SECONDS));
+    }
+
+    /** Holds a seat for this session while customer details are collected. */
+    public Optional<SeatHold> hold(String seatCode) {
+        int ttlSeconds = holdTtlSeconds();
+        return inSession(() -> service.holds().hold(seatCode, theaterId(), id, ttlSeconds));
+    }
+
+    public Optional<BookingConfirmation> bookHeld(String seatCode, Customer customer) {
+        return inSession(() -> service.holds().book(seatCode, theaterId(), id,
+                customer.name(), customer.email(), customer.phone()));
+    }
+
+    public boolean releaseHold(String seatCode) {
+        return inSession(() -> service.holds().release(seatCode, theaterId(), id));
+    }
+
+    public int releaseAllHolds() {
+        return inSession(() -> service.holds().releaseAll(id));
+    }
+
+    public Optional<BookingConfirmation> book(String seatCode, Customer customer) {
+        return inSession(() -> service.dao().createBooking(seatCode, theaterId(),
+                customer.name(), customer.email(), customer.phone()));
+    }
+
+    /** Books every seat or none; empty if any seat was not available. */
+    public List<BookingConfirmation> bookGroup(List<String> seatCodes, Customer customer) {
+        return inSession(() -> service.dao().bookSeats(seatCodes, theaterId(),
+                customer.name(), customer.email(), customer.phone()));
+    }
+
+    /** Best block of adjacent seats per section, best first; empty without an in-memory inventory. */
+    public List<BestSeatFinder.SeatBlock> findBestSeats(int partySize, BestSeatFinder.Preferences preferences) {
+        if (service.inventory() == null) return List.of();
+        return inSession(() -> service.inventory().seatFinder(theaterId(), preferences).findBest(partySize));
+    }
+
+    public boolean cancelBooking(int bookingId) {
+        return inSession(() -> service.dao().cancelBooking(bookingId, theaterId()));
+    }
+
+    // Reads go through the session too, so they see its own bookings and cancellations
+
+    public List<Theater> theaters() {
+        return inSession(() -> service.dao().getAllTheaters());
+    }
+
+    public Optional<Theater> theater() {
+        return inSession(() -> service.dao().getTheaterById(theaterId()));
+    }
+
+    public List<Section> sections() {
+        return inSession(() -> service.dao().getAllSections(theaterId()));
+    }
+
+    public List<Section> activeSections() {
+        return inSession(() -> service.dao().getActiveSections(theaterId()));
+    }
+
+    public Optional<Section> section(String sectionName) {
+        return inSession(() -> service.dao().getSectionByName(sectionName, theaterId()));
+    }
+
+    public List<Integer> rowsWithAvailableSeats(String sectionName) {
+        return inSession(() -> service.dao().getRowsWithAvailableSeats(sectionName, theaterId()));
+    }
+
+    public List<Seat> availableSeatsInRow(String sectionName, int row) {
+        return inSession(() -> service.dao().getAvailableSeatsByRow(sectionName, row, theaterId()));
+    }
+
+    public int streamSeats(SeatStatus status, Consumer<Seat> sink) {
+        return inSession(() -> service.dao().streamSeats(theaterId(), status, sink));
+    }
+
+    public int streamSeatRowSummaries(SeatStatus status, Consumer<SeatRowSummary> sink) {
+        return inSession(() -> service.dao().streamSeatRowSummaries(theaterId(), status, sink));
+    }
+
+    public TheaterStatistics statistics() {
+        return inSession(() -> service.dao().getTheaterStatistics(theaterId()));
+    }
+
+    /** after == null: first page. */
+    public BookingPage bookingsPage(BookingPage.Cursor after, int pageSize) {
+        return inSession(() -> service.dao().getBookingsPage(theaterId(), after, pageSize));
+    }
+
+    public int streamBookings(Consumer<Booking> sink) {
+        return inSession(() -> service.dao().streamBookings(theaterId(), sink));
+    }
+
+    /** Runs an operation of this session on the calling thread. */
+    <T> T inSession(Supplier<T> operation) {
+        ConnectionRouter.Session previous = ConnectionRouter.boundSession();
+        ConnectionRouter.bind(routing);
+        try {
+            return operation.get();
+        } finally {
+            if (previous != null) {
+                ConnectionRouter.bind(previous);
+            } else {
+                ConnectionRouter.unbind();
+            }
+        }
+    }
+
+    /** Releases the session's holds and forgets it. */
+    @Override
+    public void close() {
+        try {
+            releaseAllHolds();
+        } finally {
+            service.forget(this);
+        }
+    }
+}
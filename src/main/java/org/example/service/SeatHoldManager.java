@@ -0,0 +1,189 @@
+package org.example.service;
+
+import org.example.dao.TheaterDAO;
+import org.example.model.BookingConfirmation;
+import org.example.model.SeatHold;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Temporary seat holds for clerks who are still collecting customer details.
+ *
+ * A hold puts the seat in HELD status with one UPDATE. Expiry times are kept in a
+ * DelayQueue; a scheduler drains every hold that has come due and releases the
+ * whole batch with one set-based UPDATE. Each hold belongs to an owner, and only
+ * that owner can book or release it. The database statements match the hold's own
+ * held_until, so an expired hold can never book or release a later hold on the same seat.
+ *
+ * Every DATABASE_SWEEP_CYCLES sweeps the scheduler also releases every hold in the database
+ * whose held_until has passed, so holds left by a process that died are freed as well.
+ */
+public final class SeatHoldManager implements AutoCloseable {
+    public static final int DEFAULT_TTL_SECONDS = 300;
+    public static final String TTL_CONFIG_KEY = "seat_hold_ttl_seconds";
+    public static final long DEFAULT_SWEEP_INTERVAL_MILLIS = 1000;
+    static final int DATABASE_SWEEP_CYCLES = 30;
+
+    private record SeatKey(int theaterId, String seatCode) {}
+
+    private record Hold(SeatHold seatHold, String owner, Instant deadline) {}
+
+    /**
+     * Queue entry; stale once its hold has been booked or released. The deadline uses
+     * this process's clock so that clock skew with the database cannot delay a release.
+     */
+    private record Expiry(SeatKey key, Hold hold, Instant deadline) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(Instant.now(), deadline));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return deadline.compareTo(((Expiry) other).deadline);
+        }
+    }
+
+    private final TheaterDAO theaterDAO;
+    private final Map<SeatKey, Hold> holds = new ConcurrentHashMap<>();
+    private final DelayQueue<Expiry> expiries = new DelayQueue<>();
+    private final ScheduledExecutorService sweeper;
+    private int sweepCycles;   // only touched by the sweeper thread
+
+    public SeatHoldManager(TheaterDAO theaterDAO) {
+        this(theaterDAO, DEFAULT_SWEEP_INTERVAL_MILLIS);
+    }
+
+    public SeatHoldManager(TheaterDAO theaterDAO, long sweepIntervalMillis) {
+        this.theaterDAO = theaterDAO;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread t = new Thread(runnable, "seat-hold-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepSafely, sweepIntervalMillis, sweepIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /** Holds an available seat for the owner; empty if the seat is not available. */
+    public Optional<SeatHold> hold(String seatCode, int theaterId, String owner, int ttlSeconds) {
+        Optional<SeatHold> seatHold = theaterDAO.holdSeat(seatCode, theaterId, ttlSeconds);
+        seatHold.ifPresent(h -> {
+            SeatKey key = new SeatKey(theaterId, seatCode);
+            Hold hold = new Hold(h, owner, Instant.now().plusSeconds(ttlSeconds));
+            holds.put(key, hold);
+            expiries.add(new Expiry(key, hold, hold.deadline()));
+        });
+        return seatHold;
+    }
+
+    /** Books a seat the owner holds; empty if there is no such hold or it has already expired. */
+    public Optional<BookingConfirmation> book(String seatCode, int theaterId, String owner,
+                                              String customerName, String customerEmail, String customerPhone) {
+        SeatKey key = new SeatKey(theaterId, seatCode);
+        Hold hold = holds.get(key);
+        if (hold == null || !hold.owner().equals(owner) || !Instant.now().isBefore(hold.deadline())) {
+            return Optional.empty();   // an expired hold stays for the sweeper to release
+        }
+        if (!holds.remove(key, hold)) {
+            return Optional.empty();
+        }
+        Optional<BookingConfirmation> booking = Optional.empty();
+        try {
+            booking = theaterDAO.bookHeldSeat(hold.seatHold(), customerName, customerEmail, customerPhone);
+        } finally {
+            if (booking.isEmpty()) {
+                restore(key, hold);   // refused (e.g. held_until passed in the database) or failed
+            }
+        }
+        return booking;
+    }
+
+    // Puts a hold back so its owner or the sweeper can still release it; its expiry may have been drained meanwhile
+    private void restore(SeatKey key, Hold hold) {
+        if (holds.putIfAbsent(key, hold) == null) {
+            expiries.add(new Expiry(key, hold, hold.deadline()));
+        }
+    }
+
+    public boolean release(String seatCode, int theaterId, String owner) {
+        SeatKey key = new SeatKey(theaterId, seatCode);
+        Hold hold = holds.get(key);
+        if (hold == null || !hold.owner().equals(owner) || !holds.remove(key, hold)) {
+            return false;
+        }
+        return theaterDAO.releaseHolds(List.of(hold.seatHold())) > 0;
+    }
+
+    /** Releases every hold of one owner, e.g. when its session ends. */
+    public int releaseAll(String owner) {
+        List<SeatHold> released = new ArrayList<>();
+        holds.forEach((key, hold) -> {
+            if (hold.owner().equals(owner) && holds.remove(key, hold)) {
+                released.add(hold.seatHold());
+            }
+        });
+        return released.isEmpty() ? 0 : theaterDAO.releaseHolds(released);
+    }
+
+    public int activeHolds() {
+        return holds.size();
+    }
+
+    /** Releases every expired hold in one statement. */
+    int sweep() {
+        List<Expiry> due = new ArrayList<>();
+        expiries.drainTo(due);
+
+        List<Expiry> expired = new ArrayList<>(due.size());
+        for (Expiry e : due) {
+            if (holds.remove(e.key(), e.hold())) {
+                expired.add(e);
+            }
+        }
+        if (expired.isEmpty()) return 0;
+
+        try {
+            return theaterDAO.releaseHolds(expired.stream().map(e -> e.hold().seatHold()).toList());
+        } catch (RuntimeException ex) {
+            // Keep the holds so the next sweep retries them
+            for (Expiry e : expired) {
+                restore(e.key(), e.hold());
+            }
+            throw ex;
+        }
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            System.err.println("Seat hold sweep failed: " + e.getMessage());
+        }
+        if (++sweepCycles % DATABASE_SWEEP_CYCLES == 0) {
+            try {
+                theaterDAO.releaseExpiredHolds();
+            } catch (RuntimeException e) {
+                System.err.println("Releasing expired seat holds failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Stops the sweeper and releases every hold that is still open. */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        List<SeatHold> open = new ArrayList<>();
+        for (SeatKey key : new ArrayList<>(holds.keySet())) {
+            Hold hold = holds.remove(key);
+            if (hold != null) open.add(hold.seatHold());
+        }
+        expiries.clear();
+        if (!open.isEmpty()) {
+            theaterDAO.releaseHolds(open);
+        }
+    }
+}
@@ -2,26 +2,29 @@ package org.example.upload;
 
 import org.example.model.BookingRow;
 
+import java.io.IOException;
 import java.nio.file.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class BookingCsvFile implements UploadFileBookings {
     @Override
-    public List<BookingRow> parse(String path) throws Exception {
-        List<BookingRow> list = new ArrayList<>();
+    public Stream<BookingRow> stream(String path) throws IOException {
+        return Files.lines(Path.of(path))
+                .map(this::parseLine)
+                .filter(Objects::nonNull);
+    }
 
-        for (String line : Files.readAllLines(Path.of(path))) {
-            if (line.isBlank() || line.startsWith("#")) continue;
-            String[] p = line.split(",");
-            if (p.length < 4) continue;
+    private BookingRow parseLine(String line) {
+        if (line.isBlank() || line.startsWith("#")) return null;
+        String[] p = line.split(",");
+        if (p.length < 4) return null;
 
-            double price = p.length >= 5 && !p[4].isBlank()
-                    ? Double.parseDouble(p[4])
-                    : 0.0;
-            list.add(new BookingRow(
-                    p[0].trim(), p[1].trim(), p[2].trim(), p[3].trim(), price
-            ));
-        }
-        return list;
+        double price = p.length >= 5 && !p[4].isBlank()
+                ? Double.parseDouble(p[4])
+                : 0.0;
+        return new BookingRow(
+                p[0].trim(), p[1].trim(), p[2].trim(), p[3].trim(), price
+        );
     }
 }
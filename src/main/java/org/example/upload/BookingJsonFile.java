@@ -4,48 +4,44 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.model.BookingRow;
 
-import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 public class BookingJsonFile implements UploadFileBookings {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
     @Override
-    public List<BookingRow> parse(String path) throws Exception {
-        List<BookingRow> list = new ArrayList<>();
+    public Stream<BookingRow> stream(String path) throws IOException {
+        return JsonArrayStream.elements(MAPPER, path, "JSON root must be an array")
+                .map(this::toRow)
+                .filter(Objects::nonNull);
+    }
 
-        JsonNode root = MAPPER.readTree(Path.of(path).toFile());
-        if (!root.isArray()) {
-            throw new IllegalArgumentException("JSON root must be an array");
-        }
+    private BookingRow toRow(JsonNode node) {
+        // mandatory fields
+        String seatCode      = node.path("seatCode")     .asText().trim();
+        String customerName  = node.path("customerName") .asText().trim();
+        String customerEmail = node.path("customerEmail").asText().trim();
+        String customerPhone = node.path("customerPhone").asText().trim();
 
-        for (JsonNode node : root) {
-            // mandatory fields
-            String seatCode      = node.path("seatCode")     .asText().trim();
-            String customerName  = node.path("customerName") .asText().trim();
-            String customerEmail = node.path("customerEmail").asText().trim();
-            String customerPhone = node.path("customerPhone").asText().trim();
-
-            if (seatCode.isEmpty() || customerName.isEmpty()) {
-                System.err.println("Skipping incomplete booking entry: " + node);
-                continue;
-            }
-
-            // optional price override
-            double price = node.path("price").isNumber()
-                    ? node.get("price").asDouble()
-                    : 0.0;
-
-            list.add(new BookingRow(
-                    seatCode,
-                    customerName,
-                    customerEmail,
-                    customerPhone,
-                    price
-            ));
+        if (seatCode.isEmpty() || customerName.isEmpty()) {
+            System.err.println("Skipping incomplete booking entry: " + node);
+            return null;
         }
-        return list;
+
+        // optional price override
+        double price = node.path("price").isNumber()
+                ? node.get("price").asDouble()
+                : 0.0;
+
+        return new BookingRow(
+                seatCode,
+                customerName,
+                customerEmail,
+                customerPhone,
+                price
+        );
     }
 }
@@ -2,32 +2,34 @@ package org.example.upload;
 
 import org.example.model.BookingRow;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 public class BookingTxtFile implements UploadFileBookings {
     @Override
-    public List<BookingRow> parse(String path) throws Exception {
-        List<BookingRow> list = new ArrayList<>();
-
-        for (String line : Files.readAllLines(Path.of(path))) {
-            if (line.isBlank() || line.startsWith("#")) continue;
+    public Stream<BookingRow> stream(String path) throws IOException {
+        return Files.lines(Path.of(path))
+                .map(this::parseLine)
+                .filter(Objects::nonNull);
+    }
 
-            String[] p = line.trim().split("\\s+");
-            if (p.length < 4) {
-                System.err.println("Skipping malformed line: " + line);
-                continue;
-            }
+    private BookingRow parseLine(String line) {
+        if (line.isBlank() || line.startsWith("#")) return null;
 
-            double price = p.length >= 5 && !p[4].isBlank()
-                    ? Double.parseDouble(p[4])
-                    : 0.0;
-            list.add(new BookingRow(
-                    p[0].trim(), p[1].trim(), p[2].trim(), p[3].trim(), price
-            ));
+        String[] p = line.trim().split("\\s+");
+        if (p.length < 4) {
+            System.err.println("Skipping malformed line: " + line);
+            return null;
         }
-        return list;
+
+        double price = p.length >= 5 && !p[4].isBlank()
+                ? Double.parseDouble(p[4])
+                : 0.0;
+        return new BookingRow(
+                p[0].trim(), p[1].trim(), p[2].trim(), p[3].trim(), price
+        );
     }
 }
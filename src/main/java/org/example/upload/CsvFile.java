@@ -1,34 +1,38 @@
 package org.example.upload;
 
 import org.example.model.SectionRow;
+
+import java.io.IOException;
 import java.nio.file.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class CsvFile implements UploadFile {
     @Override
-    public List<SectionRow> parse(String path) throws Exception {
-        List<SectionRow> list = new ArrayList<>();
-
-        for (String line : Files.readAllLines(Path.of(path))) {
-            if (line.isBlank() || line.startsWith("#")) continue;
+    public Stream<SectionRow> stream(String path) throws IOException {
+        return Files.lines(Path.of(path))
+                .map(this::parseLine)
+                .filter(Objects::nonNull);
+    }
 
-            String[] p = line.split(",");
-            if (p.length < 4) {
-                System.err.println("Skipping malformed line: " + line);
-                continue;
-            }
+    private SectionRow parseLine(String line) {
+        if (line.isBlank() || line.startsWith("#")) return null;
 
-            if (!p[1].trim().matches("\\d+")) {
-                continue;
-            }
+        String[] p = line.split(",");
+        if (p.length < 4) {
+            System.err.println("Skipping malformed line: " + line);
+            return null;
+        }
 
-            list.add(new SectionRow(
-                    p[0].trim(),
-                    Integer.parseInt(p[1].trim()),
-                    Integer.parseInt(p[2].trim()),
-                    p[3].trim()
-            ));
+        if (!p[1].trim().matches("\\d+")) {
+            return null;
         }
-        return list;
+
+        return new SectionRow(
+                p[0].trim(),
+                Integer.parseInt(p[1].trim()),
+                Integer.parseInt(p[2].trim()),
+                p[3].trim()
+        );
     }
 }
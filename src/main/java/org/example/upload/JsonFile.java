@@ -3,29 +3,24 @@ package org.example.upload;
 import com.fasterxml.jackson.databind.*;
 import org.example.model.SectionRow;
 
-import java.nio.file.*;
-import java.util.*;
+import java.io.IOException;
+import java.util.stream.Stream;
 
 public class JsonFile implements UploadFile {
     private static final ObjectMapper mapper = new ObjectMapper();
 
     @Override
-    public List<SectionRow> parse(String path) throws Exception {
-
-        List<SectionRow> list = new ArrayList<>();
-
-        JsonNode root = mapper.readTree(Path.of(path).toFile());
-        if (!root.isArray()) throw new IllegalArgumentException("Root must be a JSON array");
-
-        for (JsonNode n : root) {
-            String section   = n.get("sectionName").asText();
-            int    row       = n.get("rowNumber").asInt();
-            int    seats     = n.get("totalSeats").asInt();
-            String seatType  = n.get("seatType").asText();
+    public Stream<SectionRow> stream(String path) throws IOException {
+        return JsonArrayStream.elements(mapper, path, "Root must be a JSON array")
+                .map(this::toRow);
+    }
 
-            list.add(new SectionRow(section, row, seats, seatType.trim()));
+    private SectionRow toRow(JsonNode n) {
+        String section   = n.get("sectionName").asText();
+        int    row       = n.get("rowNumber").asInt();
+        int    seats     = n.get("totalSeats").asInt();
+        String seatType  = n.get("seatType").asText();
 
-        }
-        return list;
+        return new SectionRow(section, row, seats, seatType.trim());
     }
 }
@@ -1,8 +1,20 @@
 package org.example.upload;
 
 import org.example.model.TheaterLayoutRow;
+
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface LayoutUploadFile {
-    List<TheaterLayoutRow> parse(String path) throws Exception;
+    /** Lazily parsed rows backed by the open file; close the stream when done. */
+    Stream<TheaterLayoutRow> stream(String path) throws IOException;
+
+    default List<TheaterLayoutRow> parse(String path) throws Exception {
+        try (Stream<TheaterLayoutRow> rows = stream(path)) {
+            return rows.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
 }
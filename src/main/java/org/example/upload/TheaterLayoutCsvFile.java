@@ -2,39 +2,46 @@ package org.example.upload;
 
 import org.example.model.TheaterLayoutRow;
 
+import java.io.IOException;
 import java.nio.file.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class TheaterLayoutCsvFile implements LayoutUploadFile {
     @Override
-    public List<TheaterLayoutRow> parse(String path) throws Exception {
-        List<TheaterLayoutRow> list = new ArrayList<>();
-        List<String> lines = Files.readAllLines(Path.of(path));
-
+    public Stream<TheaterLayoutRow> stream(String path) throws IOException {
         System.out.println("=== PARSING CSV FILE ===");
         System.out.println("File: " + path);
-        System.out.println("Total lines: " + lines.size());
 
-        int lineNumber = 0;
-        int parsedCount = 0;
-        int skippedCount = 0;
-        int errorCount = 0;
+        LineParser parser = new LineParser();
+        return Files.lines(Path.of(path))
+                .map(parser::parse)
+                .filter(Objects::nonNull)
+                .onClose(parser::printSummary);
+    }
+
+    /** Per-file parsing state; lines must be fed in order. */
+    private static final class LineParser {
+        private int lineNumber = 0;
+        private int parsedCount = 0;
+        private int skippedCount = 0;
+        private int errorCount = 0;
 
-        for (String line : lines) {
+        TheaterLayoutRow parse(String line) {
             lineNumber++;
 
             // Skip blank lines
             if (line.isBlank()) {
                 System.out.println("Line " + lineNumber + ": Skipping blank line");
                 skippedCount++;
-                continue;
+                return null;
             }
 
             // Skip comment lines
             if (line.startsWith("#")) {
                 System.out.println("Line " + lineNumber + ": Skipping comment line");
                 skippedCount++;
-                continue;
+                return null;
             }
 
             // Skip header lines (multiple possible formats)
@@ -44,17 +51,17 @@ public class TheaterLayoutCsvFile implements LayoutUploadFile {
                     line.toLowerCase().contains("theater") && line.toLowerCase().contains("section")) {
                 System.out.println("Line " + lineNumber + ": Skipping header line: " + line);
                 skippedCount++;
-                continue;
+                return null;
             }
 
             // Parse data line
             try {
-                String[] p = line.split(",");
+                String[] p = splitColumns(line);
 
                 if (p.length < 6) {
                     System.err.println("Line " + lineNumber + ": Insufficient columns (" + p.length + "/6): " + line);
                     errorCount++;
-                    continue;
+                    return null;
                 }
 
                 // Trim all parts
@@ -66,39 +73,46 @@ public class TheaterLayoutCsvFile implements LayoutUploadFile {
                 if (p[0].isEmpty() || p[2].isEmpty() || p[5].isEmpty()) {
                     System.err.println("Line " + lineNumber + ": Missing required fields (theater/section/seatType): " + line);
                     errorCount++;
-                    continue;
+                    return null;
                 }
 
                 // Parse and validate numbers
                 int rowNumber;
                 int seatsPerRow;
+                List<Integer> seatsConfiguration = new ArrayList<>();
 
                 try {
                     rowNumber = Integer.parseInt(p[3]);
                     if (rowNumber <= 0) {
                         System.err.println("Line " + lineNumber + ": Invalid row number (must be > 0): " + p[3]);
                         errorCount++;
-                        continue;
+                        return null;
                     }
                 } catch (NumberFormatException e) {
                     System.err.println("Line " + lineNumber + ": Invalid row number format: '" + p[3] + "'");
                     System.err.println("  Full line: " + line);
                     errorCount++;
-                    continue;
+                    return null;
                 }
 
                 try {
-                    seatsPerRow = Integer.parseInt(p[4]);
-                    if (seatsPerRow <= 0) {
-                        System.err.println("Line " + lineNumber + ": Invalid seats per row (must be > 0): " + p[4]);
-                        errorCount++;
-                        continue;
+                    // "12" or an aisle layout such as "6,0,6"
+                    for (String block : p[4].split(",")) {
+                        int seats = Integer.parseInt(block.trim());
+                        if (seats < 0) throw new NumberFormatException("negative block");
+                        seatsConfiguration.add(seats);
                     }
                 } catch (NumberFormatException e) {
-                    System.err.println("Line " + lineNumber + ": Invalid seats per row format: '" + p[4] + "'");
+                    System.err.println("Line " + lineNumber + ": Invalid seats configuration format: '" + p[4] + "'");
                     System.err.println("  Full line: " + line);
                     errorCount++;
-                    continue;
+                    return null;
+                }
+                seatsPerRow = seatsConfiguration.stream().mapToInt(Integer::intValue).sum();
+                if (seatsPerRow <= 0) {
+                    System.err.println("Line " + lineNumber + ": Invalid seats per row (must be > 0): " + p[4]);
+                    errorCount++;
+                    return null;
                 }
 
                 // Create the row object
@@ -107,47 +121,67 @@ public class TheaterLayoutCsvFile implements LayoutUploadFile {
                         p[1],           // theaterDescription
                         p[2],           // sectionName
                         rowNumber,      // rowNumber
-                        seatsPerRow,    // seatsPerRow
+                        seatsConfiguration, // seat blocks, 0 = aisle
                         p[5]            // seatTypeName
                 );
 
-                list.add(row);
                 parsedCount++;
 
                 System.out.println("Line " + lineNumber + ": ✓ Parsed - Theater: '" + p[0] +
                         "', Section: '" + p[2] + "', " + rowNumber + "x" + seatsPerRow +
-                        " (" + p[5] + ")");
+                        " (" + p[5] + ")" + (row.hasGaps() ? " layout " + row.getConfigurationDisplay() : ""));
+                return row;
 
             } catch (Exception e) {
                 System.err.println("Line " + lineNumber + ": Unexpected error parsing line: " + line);
                 System.err.println("  Error: " + e.getMessage());
                 errorCount++;
+                return null;
             }
         }
 
-        System.out.println("\n=== PARSING SUMMARY ===");
-        System.out.println("Total lines: " + lineNumber);
-        System.out.println("Successfully parsed: " + parsedCount);
-        System.out.println("Skipped: " + skippedCount);
-        System.out.println("Errors: " + errorCount);
-
-        if (list.isEmpty()) {
-            System.err.println("⚠️ No valid data rows found!");
-            System.err.println("Expected CSV format:");
-            System.err.println("theaterName,theaterDescription,sectionName,rowNumber,seatsPerRow,seatTypeName");
-            System.err.println("Main Theater,Downtown location,Orchestra,20,25,Standard");
+        /** Splits on commas outside double quotes; quotes are removed. */
+        private static String[] splitColumns(String line) {
+            List<String> columns = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (c == ',' && !quoted) {
+                    columns.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            columns.add(current.toString());
+            return columns.toArray(new String[0]);
         }
 
-        return list;
+        void printSummary() {
+            System.out.println("\n=== PARSING SUMMARY ===");
+            System.out.println("Total lines: " + lineNumber);
+            System.out.println("Successfully parsed: " + parsedCount);
+            System.out.println("Skipped: " + skippedCount);
+            System.out.println("Errors: " + errorCount);
+
+            if (parsedCount == 0) {
+                System.err.println("⚠️ No valid data rows found!");
+                System.err.println("Expected CSV format:");
+                System.err.println("theaterName,theaterDescription,sectionName,rowNumber,seatsPerRow,seatTypeName");
+                System.err.println("Main Theater,Downtown location,Orchestra,20,25,Standard");
+            }
+        }
     }
 
     // Alternative method for debugging - shows first few lines without parsing
     public void debugFile(String path) {
-        try {
-            List<String> lines = Files.readAllLines(Path.of(path));
+        try (Stream<String> head = Files.lines(Path.of(path)).limit(5)) {
+            List<String> lines = head.toList();
             System.out.println("=== CSV FILE DEBUG ===");
             System.out.println("File: " + path);
-            System.out.println("Total lines: " + lines.size());
             System.out.println();
 
             for (int i = 0; i < Math.min(lines.size(), 5); i++) {
@@ -1,30 +1,34 @@
 package org.example.upload;
 
 import org.example.model.SectionRow;
+
+import java.io.IOException;
 import java.nio.file.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class TxtFile implements UploadFile {
     @Override
-    public List<SectionRow> parse(String path) throws Exception {
-        List<SectionRow> list = new ArrayList<>();
-
-        for (String line : Files.readAllLines(Path.of(path))) {
-            if (line.isBlank() || line.startsWith("#")) continue;
+    public Stream<SectionRow> stream(String path) throws IOException {
+        return Files.lines(Path.of(path))
+                .map(this::parseLine)
+                .filter(Objects::nonNull);
+    }
 
-            String[] p = line.trim().split("\\s+");  // split on any whitespace
-            if (p.length < 4) {
-                System.err.println("Skipping malformed line: " + line);
-                continue;
-            }
+    private SectionRow parseLine(String line) {
+        if (line.isBlank() || line.startsWith("#")) return null;
 
-            list.add(new SectionRow(
-                    p[0],
-                    Integer.parseInt(p[1]),
-                    Integer.parseInt(p[2]),
-                    p[3].trim()
-            ));
+        String[] p = line.trim().split("\\s+");  // split on any whitespace
+        if (p.length < 4) {
+            System.err.println("Skipping malformed line: " + line);
+            return null;
         }
-        return list;
+
+        return new SectionRow(
+                p[0],
+                Integer.parseInt(p[1]),
+                Integer.parseInt(p[2]),
+                p[3].trim()
+        );
     }
 }
@@ -2,8 +2,20 @@ package org.example.upload;
 
 
 import org.example.model.SectionRow;
+
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface UploadFile {
-    List<SectionRow> parse(String path) throws Exception;
+    /** Lazily parsed rows backed by the open file; close the stream when done. */
+    Stream<SectionRow> stream(String path) throws IOException;
+
+    default List<SectionRow> parse(String path) throws Exception {
+        try (Stream<SectionRow> rows = stream(path)) {
+            return rows.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
 }
@@ -2,8 +2,19 @@ package org.example.upload;
 
 import org.example.model.BookingRow;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface UploadFileBookings {
-    List<BookingRow> parse(String path) throws Exception;
+    /** Lazily parsed rows backed by the open file; close the stream when done. */
+    Stream<BookingRow> stream(String path) throws IOException;
+
+    default List<BookingRow> parse(String path) throws Exception {
+        try (Stream<BookingRow> rows = stream(path)) {
+            return rows.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
 }
@@ -0,0 +1,8 @@
+-- Temporary seat holds: status HELD until held_until, then released by the hold sweeper
+ALTER TABLE seats ADD COLUMN IF NOT EXISTS held_until timestamptz;
+
+ALTER TABLE seats DROP CONSTRAINT IF EXISTS seats_status_check;
+ALTER TABLE seats ADD CONSTRAINT seats_status_check
+    CHECK (status IN ('AVAILABLE', 'RESERVED', 'HELD'));
+
+CREATE INDEX IF NOT EXISTS idx_seats_held_until ON seats (held_until) WHERE status = 'HELD';
@@ -0,0 +1,91 @@
+-- Change notifications for nodes that cache theaters, seat types, sections, config and seat status.
+-- Payload: {"table": ..., "op": ..., "theater_id": ..., "key": ..., "status": ...} on channel theater_changes.
+
+-- Lookup tables change rarely: one notification per row
+CREATE OR REPLACE FUNCTION notify_lookup_change() RETURNS trigger AS $$
+DECLARE
+  rec jsonb := to_jsonb(CASE WHEN TG_OP = 'DELETE' THEN OLD ELSE NEW END);
+BEGIN
+  PERFORM pg_notify('theater_changes', json_build_object(
+      'table',      TG_TABLE_NAME,
+      'op',         TG_OP,
+      'theater_id', COALESCE((rec ->> 'theater_id')::integer, (rec ->> 'id')::integer),
+      'key',        COALESCE(rec ->> 'name', rec ->> 'config_key'))::text);
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS theaters_notify ON theaters;
+CREATE TRIGGER theaters_notify AFTER INSERT OR UPDATE OR DELETE ON theaters
+  FOR EACH ROW EXECUTE FUNCTION notify_lookup_change();
+
+DROP TRIGGER IF EXISTS seat_types_notify ON seat_types;
+CREATE TRIGGER seat_types_notify AFTER INSERT OR UPDATE OR DELETE ON seat_types
+  FOR EACH ROW EXECUTE FUNCTION notify_lookup_change();
+
+DROP TRIGGER IF EXISTS sections_notify ON sections;
+CREATE TRIGGER sections_notify AFTER INSERT OR UPDATE OR DELETE ON sections
+  FOR EACH ROW EXECUTE FUNCTION notify_lookup_change();
+
+DROP TRIGGER IF EXISTS theater_config_notify ON theater_config;
+CREATE TRIGGER theater_config_notify AFTER INSERT OR UPDATE OR DELETE ON theater_config
+  FOR EACH ROW EXECUTE FUNCTION notify_lookup_change();
+
+-- Seats change in bulk (imports, seat generation): one statement-level trigger per event.
+-- Small status changes are sent seat by seat; anything larger, and any insert, delete or
+-- is_active change, is sent as one notification per theater without a key, meaning "reload".
+CREATE OR REPLACE FUNCTION notify_seat_changes() RETURNS trigger AS $$
+DECLARE
+  r record;
+BEGIN
+  -- Each event's trigger only registers its own transition tables, so no expression may
+  -- name old_seats or new_seats before TG_OP has been checked
+  IF TG_OP = 'UPDATE' THEN
+    IF (SELECT count(*) FROM new_seats) <= 200
+       AND NOT EXISTS (SELECT 1 FROM new_seats n JOIN old_seats o ON o.id = n.id
+                       WHERE n.is_active IS DISTINCT FROM o.is_active
+                          OR n.seat_code IS DISTINCT FROM o.seat_code
+                          OR n.section_id IS DISTINCT FROM o.section_id) THEN
+      FOR r IN SELECT sec.theater_id, n.seat_code, n.status
+               FROM new_seats n
+               JOIN old_seats o ON o.id = n.id
+               JOIN sections sec ON sec.id = n.section_id
+               WHERE n.status IS DISTINCT FROM o.status
+      LOOP
+        PERFORM pg_notify('theater_changes', json_build_object(
+            'table', 'seats', 'op', TG_OP, 'theater_id', r.theater_id,
+            'key', r.seat_code, 'status', r.status)::text);
+      END LOOP;
+      RETURN NULL;
+    END IF;
+  END IF;
+
+  IF TG_OP = 'DELETE' THEN
+    FOR r IN SELECT DISTINCT sec.theater_id FROM old_seats o JOIN sections sec ON sec.id = o.section_id LOOP
+      PERFORM pg_notify('theater_changes', json_build_object(
+          'table', 'seats', 'op', TG_OP, 'theater_id', r.theater_id)::text);
+    END LOOP;
+  ELSE
+    FOR r IN SELECT DISTINCT sec.theater_id FROM new_seats n JOIN sections sec ON sec.id = n.section_id LOOP
+      PERFORM pg_notify('theater_changes', json_build_object(
+          'table', 'seats', 'op', TG_OP, 'theater_id', r.theater_id)::text);
+    END LOOP;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS seats_notify_update ON seats;
+CREATE TRIGGER seats_notify_update AFTER UPDATE ON seats
+  REFERENCING OLD TABLE AS old_seats NEW TABLE AS new_seats
+  FOR EACH STATEMENT EXECUTE FUNCTION notify_seat_changes();
+
+DROP TRIGGER IF EXISTS seats_notify_insert ON seats;
+CREATE TRIGGER seats_notify_insert AFTER INSERT ON seats
+  REFERENCING NEW TABLE AS new_seats
+  FOR EACH STATEMENT EXECUTE FUNCTION notify_seat_changes();
+
+DROP TRIGGER IF EXISTS seats_notify_delete ON seats;
+CREATE TRIGGER seats_notify_delete AFTER DELETE ON seats
+  REFERENCING OLD TABLE AS old_seats
+  FOR EACH STATEMENT EXECUTE FUNCTION notify_seat_changes();
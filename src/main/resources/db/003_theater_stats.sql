@@ -0,0 +1,155 @@
+-- Per-theater seat counts and revenue, kept current by triggers so the statistics screen is one small read.
+-- Each theater has up to 16 shard rows: writers add their deltas to the shard picked by their backend,
+-- so concurrent bookings in one theater do not queue on a single counter row. Readers sum the shards.
+CREATE TABLE IF NOT EXISTS theater_stats (
+  theater_id      integer NOT NULL REFERENCES theaters(id) ON DELETE CASCADE,
+  shard           smallint NOT NULL,
+  total_seats     bigint NOT NULL DEFAULT 0,
+  available_seats bigint NOT NULL DEFAULT 0,
+  booked_seats    bigint NOT NULL DEFAULT 0,
+  total_revenue   numeric(14,2) NOT NULL DEFAULT 0,
+  PRIMARY KEY (theater_id, shard)
+);
+
+CREATE OR REPLACE FUNCTION add_theater_stats(p_theater_id integer, p_total bigint, p_available bigint,
+                                             p_booked bigint, p_revenue numeric) RETURNS void AS $$
+BEGIN
+  IF p_total = 0 AND p_available = 0 AND p_booked = 0 AND p_revenue = 0 THEN
+    RETURN;
+  END IF;
+  INSERT INTO theater_stats AS t (theater_id, shard, total_seats, available_seats, booked_seats, total_revenue)
+  VALUES (p_theater_id, pg_backend_pid() % 16, p_total, p_available, p_booked, p_revenue)
+  ON CONFLICT (theater_id, shard) DO UPDATE
+    SET total_seats     = t.total_seats     + EXCLUDED.total_seats,
+        available_seats = t.available_seats + EXCLUDED.available_seats,
+        booked_seats    = t.booked_seats    + EXCLUDED.booked_seats,
+        total_revenue   = t.total_revenue   + EXCLUDED.total_revenue;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Seats: same predicates as getTotalSeats, getAvailableSeatsCount and getBookedSeatsCount.
+-- Each branch only reads the transition tables its event declares.
+CREATE OR REPLACE FUNCTION track_seat_stats() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    PERFORM add_theater_stats(sec.theater_id,
+                              COUNT(*) FILTER (WHERE n.is_active),
+                              COUNT(*) FILTER (WHERE n.is_active AND n.status = 'AVAILABLE'),
+                              COUNT(*) FILTER (WHERE n.is_active AND n.status = 'RESERVED'), 0)
+    FROM new_seats n JOIN sections sec ON sec.id = n.section_id
+    GROUP BY sec.theater_id;
+  ELSIF TG_OP = 'DELETE' THEN
+    PERFORM add_theater_stats(sec.theater_id,
+                              -COUNT(*) FILTER (WHERE o.is_active),
+                              -COUNT(*) FILTER (WHERE o.is_active AND o.status = 'AVAILABLE'),
+                              -COUNT(*) FILTER (WHERE o.is_active AND o.status = 'RESERVED'), 0)
+    FROM old_seats o JOIN sections sec ON sec.id = o.section_id
+    GROUP BY sec.theater_id;
+  ELSE
+    PERFORM add_theater_stats(sec.theater_id,
+                              COALESCE(SUM(c.sign) FILTER (WHERE c.is_active), 0),
+                              COALESCE(SUM(c.sign) FILTER (WHERE c.is_active AND c.status = 'AVAILABLE'), 0),
+                              COALESCE(SUM(c.sign) FILTER (WHERE c.is_active AND c.status = 'RESERVED'), 0), 0)
+    FROM (
+      SELECT section_id, status, is_active, 1 AS sign FROM new_seats
+      UNION ALL
+      SELECT section_id, status, is_active, -1 FROM old_seats
+    ) c
+    JOIN sections sec ON sec.id = c.section_id
+    GROUP BY sec.theater_id;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS seats_stats_insert ON seats;
+CREATE TRIGGER seats_stats_insert AFTER INSERT ON seats
+  REFERENCING NEW TABLE AS new_seats
+  FOR EACH STATEMENT EXECUTE FUNCTION track_seat_stats();
+
+DROP TRIGGER IF EXISTS seats_stats_update ON seats;
+CREATE TRIGGER seats_stats_update AFTER UPDATE ON seats
+  REFERENCING OLD TABLE AS old_seats NEW TABLE AS new_seats
+  FOR EACH STATEMENT EXECUTE FUNCTION track_seat_stats();
+
+DROP TRIGGER IF EXISTS seats_stats_delete ON seats;
+CREATE TRIGGER seats_stats_delete AFTER DELETE ON seats
+  REFERENCING OLD TABLE AS old_seats
+  FOR EACH STATEMENT EXECUTE FUNCTION track_seat_stats();
+
+-- Bookings: same predicate as getTotalRevenue
+CREATE OR REPLACE FUNCTION track_booking_stats() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    PERFORM add_theater_stats(sec.theater_id, 0, 0, 0, SUM(n.total_price))
+    FROM new_bookings n
+    JOIN seats s ON s.id = n.seat_id
+    JOIN sections sec ON sec.id = s.section_id
+    WHERE n.status = 'CONFIRMED'
+    GROUP BY sec.theater_id;
+  ELSIF TG_OP = 'DELETE' THEN
+    PERFORM add_theater_stats(sec.theater_id, 0, 0, 0, -SUM(o.total_price))
+    FROM old_bookings o
+    JOIN seats s ON s.id = o.seat_id
+    JOIN sections sec ON sec.id = s.section_id
+    WHERE o.status = 'CONFIRMED'
+    GROUP BY sec.theater_id;
+  ELSE
+    PERFORM add_theater_stats(sec.theater_id, 0, 0, 0, SUM(c.amount))
+    FROM (
+      SELECT seat_id, total_price AS amount FROM new_bookings WHERE status = 'CONFIRMED'
+      UNION ALL
+      SELECT seat_id, -total_price FROM old_bookings WHERE status = 'CONFIRMED'
+    ) c
+    JOIN seats s ON s.id = c.seat_id
+    JOIN sections sec ON sec.id = s.section_id
+    GROUP BY sec.theater_id;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS bookings_stats_insert ON bookings;
+CREATE TRIGGER bookings_stats_insert AFTER INSERT ON bookings
+  REFERENCING NEW TABLE AS new_bookings
+  FOR EACH STATEMENT EXECUTE FUNCTION track_booking_stats();
+
+DROP TRIGGER IF EXISTS bookings_stats_update ON bookings;
+CREATE TRIGGER bookings_stats_update AFTER UPDATE ON bookings
+  REFERENCING OLD TABLE AS old_bookings NEW TABLE AS new_bookings
+  FOR EACH STATEMENT EXECUTE FUNCTION track_booking_stats();
+
+DROP TRIGGER IF EXISTS bookings_stats_delete ON bookings;
+CREATE TRIGGER bookings_stats_delete AFTER DELETE ON bookings
+  REFERENCING OLD TABLE AS old_bookings
+  FOR EACH STATEMENT EXECUTE FUNCTION track_booking_stats();
+
+-- Recomputes every theater from the base tables. Run once here, and again after changes the
+-- triggers cannot attribute to a theater (e.g. rows removed together with their section).
+CREATE OR REPLACE FUNCTION rebuild_theater_stats() RETURNS void AS $$
+BEGIN
+  LOCK TABLE theater_stats IN EXCLUSIVE MODE;
+  DELETE FROM theater_stats;
+  INSERT INTO theater_stats (theater_id, shard, total_seats, available_seats, booked_seats, total_revenue)
+  SELECT t.id, 0, COALESCE(s.total, 0), COALESCE(s.available, 0), COALESCE(s.booked, 0), COALESCE(b.revenue, 0)
+  FROM theaters t
+  LEFT JOIN (
+    SELECT sec.theater_id,
+           COUNT(*) FILTER (WHERE st.is_active)                             AS total,
+           COUNT(*) FILTER (WHERE st.is_active AND st.status = 'AVAILABLE') AS available,
+           COUNT(*) FILTER (WHERE st.is_active AND st.status = 'RESERVED')  AS booked
+    FROM seats st JOIN sections sec ON sec.id = st.section_id
+    GROUP BY sec.theater_id
+  ) s ON s.theater_id = t.id
+  LEFT JOIN (
+    SELECT sec.theater_id, SUM(bk.total_price) AS revenue
+    FROM bookings bk
+    JOIN seats st ON st.id = bk.seat_id
+    JOIN sections sec ON sec.id = st.section_id
+    WHERE bk.status = 'CONFIRMED'
+    GROUP BY sec.theater_id
+  ) b ON b.theater_id = t.id;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT rebuild_theater_stats();
@@ -0,0 +1,2 @@
+-- Supports keyset pagination and streaming of bookings, newest first
+CREATE INDEX IF NOT EXISTS idx_bookings_time_id ON bookings (booking_time DESC, id DESC);
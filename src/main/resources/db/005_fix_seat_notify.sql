@@ -0,0 +1,43 @@
+-- notify_seat_changes() as first shipped in 002 named both transition tables in one IF,
+-- which fails for the INSERT and DELETE triggers that only register one of them.
+-- Databases that already applied 002 get the corrected function here.
+CREATE OR REPLACE FUNCTION notify_seat_changes() RETURNS trigger AS $$
+DECLARE
+  r record;
+BEGIN
+  -- Each event's trigger only registers its own transition tables, so no expression may
+  -- name old_seats or new_seats before TG_OP has been checked
+  IF TG_OP = 'UPDATE' THEN
+    IF (SELECT count(*) FROM new_seats) <= 200
+       AND NOT EXISTS (SELECT 1 FROM new_seats n JOIN old_seats o ON o.id = n.id
+                       WHERE n.is_active IS DISTINCT FROM o.is_active
+                          OR n.seat_code IS DISTINCT FROM o.seat_code
+                          OR n.section_id IS DISTINCT FROM o.section_id) THEN
+      FOR r IN SELECT sec.theater_id, n.seat_code, n.status
+               FROM new_seats n
+               JOIN old_seats o ON o.id = n.id
+               JOIN sections sec ON sec.id = n.section_id
+               WHERE n.status IS DISTINCT FROM o.status
+      LOOP
+        PERFORM pg_notify('theater_changes', json_build_object(
+            'table', 'seats', 'op', TG_OP, 'theater_id', r.theater_id,
+            'key', r.seat_code, 'status', r.status)::text);
+      END LOOP;
+      RETURN NULL;
+    END IF;
+  END IF;
+
+  IF TG_OP = 'DELETE' THEN
+    FOR r IN SELECT DISTINCT sec.theater_id FROM old_seats o JOIN sections sec ON sec.id = o.section_id LOOP
+      PERFORM pg_notify('theater_changes', json_build_object(
+          'table', 'seats', 'op', TG_OP, 'theater_id', r.theater_id)::text);
+    END LOOP;
+  ELSE
+    FOR r IN SELECT DISTINCT sec.theater_id FROM new_seats n JOIN sections sec ON sec.id = n.section_id LOOP
+      PERFORM pg_notify('theater_changes', json_build_object(
+          'table', 'seats', 'op', TG_OP, 'theater_id', r.theater_id)::text);
+    END LOOP;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;